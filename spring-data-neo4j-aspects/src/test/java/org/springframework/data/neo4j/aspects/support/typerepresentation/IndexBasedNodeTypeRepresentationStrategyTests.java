@@ -101,6 +101,24 @@ public class IndexBasedNodeTypeRepresentationStrategyTests extends AbstractNodeT
 		subSubThingHits.close();
 	}
 
+    @Test
+    @Transactional
+    public void testCountWithinTransactionThatCreatedAndDeletedInstances() throws Exception {
+        final Node newThing = graphDatabaseService.createNode();
+        nodeTypeRepresentationStrategy.writeTypeTo(newThing, thingType);
+        final Node newSubThing = graphDatabaseService.createNode();
+        nodeTypeRepresentationStrategy.writeTypeTo(newSubThing, subThingType);
+        assertEquals(5, nodeTypeRepresentationStrategy.count(thingType));
+        assertEquals(3, nodeTypeRepresentationStrategy.count(subThingType));
+
+        nodeTypeRepresentationStrategy.preEntityRemoval(newSubThing);
+        newSubThing.delete();
+        nodeTypeRepresentationStrategy.preEntityRemoval(node(thing));
+        assertEquals(3, nodeTypeRepresentationStrategy.count(thingType));
+        assertEquals(2, nodeTypeRepresentationStrategy.count(subThingType));
+        assertEquals(1, nodeTypeRepresentationStrategy.count(subSubThingType));
+    }
+
 	@Test
     @Override
 	public void testPreEntityRemoval() throws Exception {
@@ -19,6 +19,10 @@ package org.springframework.data.neo4j.aspects.support.typerepresentation;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.neo4j.graphdb.DynamicLabel;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.springframework.data.neo4j.support.mapping.StoredEntityType;
 import org.springframework.data.neo4j.support.typerepresentation.LabelBasedNodeTypeRepresentationStrategy;
 import org.springframework.test.context.CleanContextCacheTestExecutionListener;
 import org.springframework.test.context.ContextConfiguration;
@@ -30,6 +34,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.neo4j.helpers.collection.IteratorUtil.count;
 
 /**
  * Tests to ensure that all scenarios involved in entity creation / reading etc
@@ -60,14 +68,60 @@ public class LabelBasedNodeTypeRepresentationStrategyTests extends AbstractNodeT
 	@Test
 	@Transactional
 	public void testPostEntityCreation() throws Exception {
-        // Anything to test here??
+        final Node node = node(subSubThing);
+        assertThat(node.hasLabel(typeLabel(subSubThingType)), is(true));
+        assertThat(node.hasLabel(aliasLabel(subSubThingType)), is(true));
+        assertThat(node.hasLabel(aliasLabel(subThingType)), is(true));
+        assertThat(node.hasLabel(aliasLabel(thingType)), is(true));
+        assertThat(node.hasLabel(typeLabel(thingType)), is(false));
 	}
 
+    @Test
+    @Transactional
+    public void testWriteTypeToIsIdempotent() throws Exception {
+        final Node node = node(subThing);
+        final int labelCount = count(node.getLabels());
+        nodeTypeRepresentationStrategy.writeTypeTo(node, subThingType);
+        assertEquals(labelCount, count(node.getLabels()));
+    }
+
+    @Test
+    @Transactional
+    public void testReadAliasFromLabelsOfNode() throws Exception {
+        final Node node = graphDatabaseService.createNode();
+        node.addLabel(DynamicLabel.label("Other"));
+        node.addLabel(typeLabel(subThingType));
+        assertEquals(subThingType.getAlias(), nodeTypeRepresentationStrategy.readAliasFrom(node));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    @Transactional
+    public void testReadAliasFromNodeWithoutTypeLabelFails() throws Exception {
+        nodeTypeRepresentationStrategy.readAliasFrom(graphDatabaseService.createNode());
+    }
+
 	@Test
     @Transactional
 	public void testPreEntityRemoval() throws Exception {
-        // preEntityRemoval is a no op method, so nothing to test here!
+        final Node node = graphDatabaseService.createNode();
+        node.addLabel(typeLabel(thingType));
+        assertEquals(thingType.getAlias(), nodeTypeRepresentationStrategy.readAliasFrom(node));
+        node.removeLabel(typeLabel(thingType));
+        assertEquals("alias is remembered within the transaction", thingType.getAlias(), nodeTypeRepresentationStrategy.readAliasFrom(node));
+        nodeTypeRepresentationStrategy.preEntityRemoval(node);
+        try {
+            nodeTypeRepresentationStrategy.readAliasFrom(node);
+            fail("alias should have been forgotten");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
 	}
 
+    private static Label typeLabel(StoredEntityType type) {
+        return DynamicLabel.label(LabelBasedNodeTypeRepresentationStrategy.LABELSTRATEGY_PREFIX + type.getAlias());
+    }
 
+    private static Label aliasLabel(StoredEntityType type) {
+        return DynamicLabel.label(type.getAlias().toString());
+    }
 }
@@ -47,6 +47,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.Collection;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.springframework.data.neo4j.aspects.Person.persistedPerson;
@@ -82,7 +83,7 @@ public class SubReferenceNodeTypeRepresentationStrategyTests extends EntityTestB
         Node typeNode = getInstanceofRelationship(thingNode).getOtherNode(thingNode);
         assertNotNull("type node for thing exists", typeNode);
         assertEquals("type node has property of type Thing.class", typeOf(Thing.class).getAlias(), typeNode.getProperty(SubReferenceNodeTypeRepresentationStrategy.SUBREF_CLASS_KEY));
-        assertEquals("one thing has been created", 2, typeNode.getProperty(SubReferenceNodeTypeRepresentationStrategy.SUBREFERENCE_NODE_COUNTER_KEY));
+        assertEquals("one thing has been created", 2, nodeTypeRepresentationStrategy.count(typeOf(Thing.class)));
     }
     @Test(expected = IllegalArgumentException.class)
     @Transactional
@@ -125,13 +126,78 @@ public class SubReferenceNodeTypeRepresentationStrategyTests extends EntityTestB
         nodeTypeRepresentationStrategy.preEntityRemoval(node(thing));
         assertNull("instanceof relationship was removed", getInstanceofRelationship(thingNode));
         assertNotNull("instanceof relationship was removed", getInstanceofRelationship(subThingNode));
-        assertEquals("no things left after removal", 1, typeNode.getProperty(SubReferenceNodeTypeRepresentationStrategy.SUBREFERENCE_NODE_COUNTER_KEY));
+        assertEquals("no things left after removal", 1, nodeTypeRepresentationStrategy.count(typeOf(Thing.class)));
         nodeTypeRepresentationStrategy.preEntityRemoval(node(subThing));
         assertNull("instanceof relationship was removed", getInstanceofRelationship(subThingNode));
-        assertEquals("no things left after removal", 0, typeNode.getProperty(SubReferenceNodeTypeRepresentationStrategy.SUBREFERENCE_NODE_COUNTER_KEY));
+        assertEquals("no things left after removal", 0, nodeTypeRepresentationStrategy.count(typeOf(Thing.class)));
 
     }
 
+    @Test
+    public void testCountersAreStoredOnCommit() throws Exception {
+        final long things = storedCount(Thing.class);
+        final long subThings = storedCount(SubThing.class);
+        final Node node = neo4jTemplate.exec(new GraphCallback<Node>() {
+            public Node doWithGraph(GraphDatabase graph) throws Exception {
+                final Node node = neo4jTemplate.createNode();
+                neo4jTemplate.setPersistentState(new SubThing(), node);
+                nodeTypeRepresentationStrategy.writeTypeTo(node, typeOf(SubThing.class));
+                return node;
+            }
+        });
+        assertEquals("committed count of things", things + 1, storedCount(Thing.class));
+        assertEquals("committed count of sub things", subThings + 1, storedCount(SubThing.class));
+
+        neo4jTemplate.exec(new GraphCallback.WithoutResult() {
+            public void doWithGraphWithoutResult(GraphDatabase graph) throws Exception {
+                nodeTypeRepresentationStrategy.preEntityRemoval(node);
+            }
+        });
+        assertEquals("committed count of things", things, storedCount(Thing.class));
+        assertEquals("committed count of sub things", subThings, storedCount(SubThing.class));
+    }
+
+    private long storedCount(final Class<?> type) {
+        return neo4jTemplate.exec(new GraphCallback<Long>() {
+            public Long doWithGraph(GraphDatabase graph) throws Exception {
+                return nodeTypeRepresentationStrategy.count(typeOf(type));
+            }
+        });
+    }
+
+    @Test
+    @Transactional
+    public void testInstancesAreRelatedToStripesOfTheirSubreference() throws Exception {
+        final Node subReference = nodeTypeRepresentationStrategy.findSubreferenceNode(typeOf(Thing.class));
+        final Node otherThingNode = neo4jTemplate.createNode();
+        nodeTypeRepresentationStrategy.writeTypeTo(otherThingNode, typeOf(Thing.class));
+        final Node stripe = getInstanceofRelationship(thingNode).getEndNode();
+        final Node otherStripe = getInstanceofRelationship(otherThingNode).getEndNode();
+
+        assertFalse("consecutive nodes use different stripes", stripe.equals(otherStripe));
+        assertEquals(subReference, stripe.getSingleRelationship(SubReferenceNodeTypeRepresentationStrategy.STRIPE_OF_RELATIONSHIP_TYPE, Direction.OUTGOING).getEndNode());
+        assertEquals(subReference, otherStripe.getSingleRelationship(SubReferenceNodeTypeRepresentationStrategy.STRIPE_OF_RELATIONSHIP_TYPE, Direction.OUTGOING).getEndNode());
+        assertFalse("no instance is related to the subreference node", subReference.hasRelationship(SubReferenceNodeTypeRepresentationStrategy.INSTANCE_OF_RELATIONSHIP_TYPE, Direction.INCOMING));
+        assertEquals(3, nodeTypeRepresentationStrategy.count(typeOf(Thing.class)));
+        assertEquals(3, IteratorUtil.count(nodeTypeRepresentationStrategy.findAll(typeOf(Thing.class))));
+    }
+
+    @Test
+    @Transactional
+    public void testInstancesRelatedToSubreferenceNodeAreStillCountedAndRemoved() throws Exception {
+        final Node subReference = nodeTypeRepresentationStrategy.findSubreferenceNode(typeOf(Thing.class));
+        final Node legacyNode = neo4jTemplate.createNode();
+        legacyNode.createRelationshipTo(subReference, SubReferenceNodeTypeRepresentationStrategy.INSTANCE_OF_RELATIONSHIP_TYPE);
+        subReference.setProperty(SubReferenceNodeTypeRepresentationStrategy.SUBREFERENCE_NODE_COUNTER_KEY, 1);
+
+        assertEquals(typeOf(Thing.class).getAlias(), nodeTypeRepresentationStrategy.readAliasFrom(legacyNode));
+        assertEquals(3, nodeTypeRepresentationStrategy.count(typeOf(Thing.class)));
+        assertEquals(3, IteratorUtil.count(nodeTypeRepresentationStrategy.findAll(typeOf(Thing.class))));
+
+        nodeTypeRepresentationStrategy.preEntityRemoval(legacyNode);
+        assertEquals(2, nodeTypeRepresentationStrategy.count(typeOf(Thing.class)));
+    }
+
     @Transactional
     private Relationship getInstanceofRelationship(Node node) {
         return node.getSingleRelationship(SubReferenceNodeTypeRepresentationStrategy.INSTANCE_OF_RELATIONSHIP_TYPE, Direction.OUTGOING);
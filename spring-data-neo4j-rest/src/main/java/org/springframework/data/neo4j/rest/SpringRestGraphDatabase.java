@@ -36,6 +36,8 @@ import org.springframework.data.neo4j.support.query.ConversionServiceQueryResult
 import org.springframework.data.neo4j.support.query.QueryEngine;
 
 import javax.transaction.TransactionManager;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
 
 public class SpringRestGraphDatabase extends org.neo4j.rest.graphdb.RestGraphDatabase implements GraphDatabase{
@@ -171,6 +173,26 @@ public class SpringRestGraphDatabase extends org.neo4j.rest.graphdb.RestGraphDat
        relationship.delete();
     }
 
+    @Override
+    public void remove(Node node, Collection<String> indexNames) {
+        final RestIndexManager indexManager = index();
+        final Collection<String> existingIndexNames = Arrays.asList(indexManager.nodeIndexNames());
+        for (String indexName : indexNames) {
+            if (existingIndexNames.contains(indexName)) indexManager.forNodes(indexName).remove(node);
+        }
+        node.delete();
+    }
+
+    @Override
+    public void remove(Relationship relationship, Collection<String> indexNames) {
+        final RestIndexManager indexManager = index();
+        final Collection<String> existingIndexNames = Arrays.asList(indexManager.relationshipIndexNames());
+        for (String indexName : indexNames) {
+            if (existingIndexNames.contains(indexName)) indexManager.forRelationships(indexName).remove(relationship);
+        }
+        relationship.delete();
+    }
+
     @Override
     public void setResultConverter(ResultConverter resultConverter) {
        this.resultConverter = resultConverter;
@@ -28,7 +28,10 @@ import java.lang.annotation.Target;
  * relationships. Works for one-to-one and one-to-many relationships. It is optionally possible to define the relationship type,
  * relationship direction and target class (required for one-many-relationships).
  *
- * Collection based one-to-many relationships return managed collections that reflect addition and removal to the underlying relationships.
+ * Collection based one-to-many relationships return managed collections that reflect addition and removal to the underlying relationships,
+ * unless they are fetched the related entities are only loaded when the collection is read or changed in memory.
+ * Relationships declared as {@link Iterable} are read only, unless they are fetched they return a
+ * {@link org.springframework.data.neo4j.fieldaccess.LazyRelatedEntities} that loads the related entities on access.
  *
  * Examples:
  * <pre>
@@ -55,6 +55,7 @@ import org.springframework.data.neo4j.support.node.NodeEntityStateFactory;
 import org.springframework.data.neo4j.support.relationship.RelationshipEntityInstantiator;
 import org.springframework.data.neo4j.support.relationship.RelationshipEntityStateFactory;
 import org.springframework.data.neo4j.support.typerepresentation.ClassValueTypeInformationMapper;
+import org.springframework.data.neo4j.support.typerepresentation.LabelBasedNodeTypeRepresentationStrategy;
 import org.springframework.data.neo4j.support.typerepresentation.TypeRepresentationStrategyFactory;
 import org.springframework.data.neo4j.support.typesafety.TypeSafetyPolicy;
 import org.springframework.data.support.IsNewStrategyFactory;
@@ -79,6 +80,8 @@ public abstract class Neo4jConfiguration {
 
     private Set<? extends Class<?>> initialEntitySet;
 
+    private boolean schemaIndexesEnabled;
+
     @Autowired(required = false)
     private Validator validator;
 
@@ -121,6 +124,7 @@ public abstract class Neo4jConfiguration {
         factoryBean.setTypeSafetyPolicy(typeSafetyPolicy());
         
         factoryBean.setIndexProvider(indexProvider());
+        factoryBean.setSchemaIndexesEnabled(schemaIndexesEnabled);
 
         if (validator!=null) {
             factoryBean.setValidator(validator);
@@ -245,6 +249,9 @@ public abstract class Neo4jConfiguration {
 
     @Bean
     public IndexCreationMappingEventListener indexCreationMappingEventListener() throws Exception {
+        if (schemaIndexesEnabled && nodeTypeRepresentationStrategy() instanceof LabelBasedNodeTypeRepresentationStrategy) {
+            return new IndexCreationMappingEventListener(indexProvider(), graphDatabase());
+        }
         return new IndexCreationMappingEventListener(indexProvider());
     }
 
@@ -283,4 +290,17 @@ public abstract class Neo4jConfiguration {
     public void setInitialEntitySet(Set<? extends Class<?>> initialEntitySet) {
    		this.initialEntitySet = initialEntitySet;
    	}
+
+    public boolean isSchemaIndexesEnabled() {
+        return schemaIndexesEnabled;
+    }
+
+    /**
+     * @param schemaIndexesEnabled if true and the label based type representation strategy is used, schema indexes and
+     * uniqueness constraints are created for indexed properties and used by derived finders
+     * @see MappingInfrastructureFactoryBean#setSchemaIndexesEnabled(boolean)
+     */
+    public void setSchemaIndexesEnabled(boolean schemaIndexesEnabled) {
+        this.schemaIndexesEnabled = schemaIndexesEnabled;
+    }
 }
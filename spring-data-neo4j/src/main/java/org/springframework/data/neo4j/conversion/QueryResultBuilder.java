@@ -16,6 +16,7 @@
 
 package org.springframework.data.neo4j.conversion;
 
+import org.neo4j.graphdb.ResourceIterator;
 import org.neo4j.graphdb.index.IndexHits;
 import org.neo4j.helpers.collection.ClosableIterable;
 import org.neo4j.helpers.collection.IteratorUtil;
@@ -116,7 +117,15 @@ public class QueryResultBuilder<T> implements Result<T> {
 
             @Override
             public Iterator<R> iterator() {
-                return new IteratorWrapper<R, T>(result.iterator()) {
+                final Iterator<T> iterator = result.iterator();
+                if (iterator instanceof ResourceIterator) {
+                    return new ConvertingResourceIterator<R, T>((ResourceIterator<T>) iterator) {
+                        protected R underlyingObjectToObject(T value) {
+                            return convert(value);
+                        }
+                    };
+                }
+                return new IteratorWrapper<R, T>(iterator) {
                     protected R underlyingObjectToObject(T value) {
                         return convert(value);
                     }
@@ -154,6 +163,23 @@ public class QueryResultBuilder<T> implements Result<T> {
     }
 
 
+    /**
+     * Converts the rows of an underlying resource iterator on demand and releases it when closed.
+     */
+    private static abstract class ConvertingResourceIterator<R, T> extends IteratorWrapper<R, T> implements ResourceIterator<R> {
+        private final ResourceIterator<T> iterator;
+
+        ConvertingResourceIterator(ResourceIterator<T> iterator) {
+            super(iterator);
+            this.iterator = iterator;
+        }
+
+        @Override
+        public void close() {
+            iterator.close();
+        }
+    }
+
     private void closeIfNeeded() {
         if (isClosableIterable && !isClosed) {
             if (result instanceof IndexHits) {
@@ -26,6 +26,7 @@ import org.springframework.data.neo4j.support.index.IndexType;
 import org.springframework.data.neo4j.support.query.QueryEngine;
 
 import javax.transaction.TransactionManager;
+import java.util.Collection;
 import java.util.Map;
 
 
@@ -82,6 +83,16 @@ public interface GraphDatabase {
      */
     void remove(Relationship relationship);
 
+    /**
+     * deletes the Node and its entries in the given indexes only, indexes that don't exist are skipped
+     */
+    void remove(Node node, Collection<String> indexNames);
+
+    /**
+     * deletes the relationship and its entries in the given indexes only, indexes that don't exist are skipped
+     */
+    void remove(Relationship relationship, Collection<String> indexNames);
+
     /**
      * @param indexName existing index name, not null
      * @return existing index {@link Index}
@@ -0,0 +1,34 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.neo4j.fieldaccess;
+
+/**
+ * field accessor for collection fields that can write the addition or removal of a single element
+ * without re-writing the whole collection. Used by the {@link ManagedFieldAccessorSet}.
+ */
+public interface CollectionElementFieldAccessor extends FieldAccessor {
+
+    /**
+     * writes the element that was added to the collection field of the entity
+     */
+    void addElement(Object entity, Object element);
+
+    /**
+     * removes the element that was removed from the collection field of the entity
+     */
+    void removeElement(Object entity, Object element);
+}
@@ -19,6 +19,7 @@ package org.springframework.data.neo4j.fieldaccess;
 import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -63,10 +64,36 @@ public class FieldAccessorFactoryProviders<T> {
 
     private final List<FieldAccessorFactoryProvider<T>> fieldAccessorFactoryProviders = new ArrayList<FieldAccessorFactoryProvider<T>>();
     private Neo4jPersistentProperty idProperty;
+    private volatile Map<Neo4jPersistentProperty, FieldAccessor> fieldAccessors;
+    private volatile Map<Neo4jPersistentProperty, List<FieldAccessListener>> fieldAccessListeners;
 
     FieldAccessorFactoryProviders() {}
 
+    /**
+     * @return the accessors of the type, created once and shared by all entity states of the type
+     */
     public Map<Neo4jPersistentProperty, FieldAccessor> getFieldAccessors() {
+        Map<Neo4jPersistentProperty, FieldAccessor> result = fieldAccessors;
+        if (result == null) {
+            result = Collections.unmodifiableMap(createFieldAccessors());
+            fieldAccessors = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the listeners of the type, created once and shared by all entity states of the type
+     */
+    public Map<Neo4jPersistentProperty, List<FieldAccessListener>> getFieldAccessListeners() {
+        Map<Neo4jPersistentProperty, List<FieldAccessListener>> result = fieldAccessListeners;
+        if (result == null) {
+            result = Collections.unmodifiableMap(createFieldAccessListeners());
+            fieldAccessListeners = result;
+        }
+        return result;
+    }
+
+    private Map<Neo4jPersistentProperty, FieldAccessor> createFieldAccessors() {
         int count = fieldAccessorFactoryProviders.size();
         final Map<Neo4jPersistentProperty, FieldAccessor> result = new HashMap<Neo4jPersistentProperty, FieldAccessor>(count,1);
         for (int i = 0; i < count; i++) {
@@ -77,13 +104,14 @@ public class FieldAccessorFactoryProviders<T> {
         return result;
     }
 
-    public Map<Neo4jPersistentProperty, List<FieldAccessListener>> getFieldAccessListeners() {
+    private Map<Neo4jPersistentProperty, List<FieldAccessListener>> createFieldAccessListeners() {
         int count = fieldAccessorFactoryProviders.size();
         final Map<Neo4jPersistentProperty, List<FieldAccessListener>> result = new HashMap<Neo4jPersistentProperty, List<FieldAccessListener>>(count,1);
         for (int i = 0; i < count; i++) {
             FieldAccessorFactoryProvider<T> fieldAccessorFactoryProvider = fieldAccessorFactoryProviders.get(i);
             final List<FieldAccessListener> listeners = fieldAccessorFactoryProvider.listeners();
-            result.put(fieldAccessorFactoryProvider.getProperty(), listeners);
+            if (listeners == null || listeners.isEmpty()) continue;
+            result.put(fieldAccessorFactoryProvider.getProperty(), Collections.unmodifiableList(listeners));
         }
         return result;
     }
@@ -24,6 +24,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.data.neo4j.support.index.IndexWriteBuffer;
 
 
 public class IndexingPropertyFieldAccessorListenerFactory<S extends PropertyContainer, T> implements FieldAccessorListenerFactory {
@@ -78,6 +79,10 @@ public class IndexingPropertyFieldAccessorListenerFactory<S extends PropertyCont
             if (newVal instanceof Number && property.getIndexInfo().isNumeric()) newVal = ValueContext.numeric((Number) newVal);
 
             final T state = template.getPersistentState(entity);
+            if (!property.isUnique()) {
+                final IndexWriteBuffer indexWriteBuffer = template.getInfrastructure().getIndexWriteBuffer();
+                if (indexWriteBuffer != null && indexWriteBuffer.write(index, state, indexKey, newVal)) return;
+            }
             index.remove(state, indexKey);
             if (newVal != null) {
                 if (property.isUnique()) {
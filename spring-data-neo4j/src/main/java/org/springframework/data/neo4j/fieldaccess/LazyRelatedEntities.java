@@ -0,0 +1,227 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.neo4j.fieldaccess;
+
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.springframework.data.neo4j.core.GraphDatabase;
+import org.springframework.data.neo4j.mapping.MappingPolicy;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.data.neo4j.template.GraphCallback;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * View on the entities related to a node, used for {@link org.springframework.data.neo4j.annotation.RelatedTo} and
+ * {@link org.springframework.data.neo4j.annotation.RelatedToVia} collection fields that are not fetched. Nothing is
+ * loaded when the field is read, related entities are only mapped while iterating or when a slice is requested,
+ * {@link #size()} and {@link #contains(Object)} only read the relationships.
+ * Iteration streams the relationships of the node and maps the entities in batches, each batch runs in its own or the
+ * surrounding transaction. Hub nodes should be iterated within a transaction, so the relationships are read by a single
+ * cursor. When serialized, the related entities are loaded and written as a set, like the eagerly loaded collections.
+ *
+ * @param <T> type of the related entities
+ */
+public class LazyRelatedEntities<T> implements Iterable<T>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int BATCH_SIZE = 100;
+
+    private final transient Node node;
+    private final transient RelationshipHelper relationshipHelper;
+    private final transient Class<T> relatedType;
+    private final transient Class<?> targetType;
+    private final transient Neo4jTemplate template;
+    private final transient MappingPolicy mappingPolicy;
+    private final transient boolean relationshipEntities;
+
+    /**
+     * @param relatedType type the related nodes are mapped to, null to use their stored type
+     * @param targetType only related entities of this type are included, null for all
+     */
+    public LazyRelatedEntities(Node node, RelationshipHelper relationshipHelper, Class<T> relatedType, Class<?> targetType, Neo4jTemplate template, MappingPolicy mappingPolicy) {
+        this(node, relationshipHelper, relatedType, targetType, template, mappingPolicy, false);
+    }
+
+    private LazyRelatedEntities(Node node, RelationshipHelper relationshipHelper, Class<T> relatedType, Class<?> targetType, Neo4jTemplate template, MappingPolicy mappingPolicy, boolean relationshipEntities) {
+        this.node = node;
+        this.relationshipHelper = relationshipHelper;
+        this.relatedType = relatedType;
+        this.targetType = targetType;
+        this.template = template;
+        this.mappingPolicy = mappingPolicy;
+        this.relationshipEntities = relationshipEntities;
+    }
+
+    /**
+     * @return view on the relationships of the node mapped to relationship entities of the given type
+     */
+    public static <T> LazyRelatedEntities<T> relationshipEntities(Node node, RelationshipHelper relationshipHelper, Class<T> relationshipEntityType, Neo4jTemplate template, MappingPolicy mappingPolicy) {
+        return new LazyRelatedEntities<T>(node, relationshipHelper, relationshipEntityType, null, template, mappingPolicy, true);
+    }
+
+    /**
+     * @return the number of related entities, only reads the types of the related nodes if a target type is enforced
+     */
+    public int size() {
+        return template.exec(new GraphCallback<Integer>() {
+            @Override
+            public Integer doWithGraph(GraphDatabase graph) throws Exception {
+                int count = 0;
+                for (Relationship relationship : relationshipHelper.getRelationships(node)) {
+                    if (isIncluded(relationship)) count++;
+                }
+                return count;
+            }
+        });
+    }
+
+    public boolean isEmpty() {
+        return limit(1).isEmpty();
+    }
+
+    /**
+     * @return true if the given entity is related, checked by comparing its state with the relationships of the node
+     */
+    public boolean contains(final Object entity) {
+        if (entity == null || (relatedType != null && !relatedType.isInstance(entity))) return false;
+        final PropertyContainer state = template.getPersistentState(entity);
+        if (state == null) return false;
+        return template.exec(new GraphCallback<Boolean>() {
+            @Override
+            public Boolean doWithGraph(GraphDatabase graph) throws Exception {
+                for (Relationship relationship : relationshipHelper.getRelationships(node)) {
+                    if (state.equals(stateOf(relationship))) return isIncluded(relationship);
+                }
+                return false;
+            }
+        });
+    }
+
+    /**
+     * @return at most <code>limit</code> related entities after skipping the first <code>skip</code> ones
+     */
+    public List<T> slice(final int skip, final int limit) {
+        if (skip < 0 || limit < 0) throw new IllegalArgumentException("skip and limit must not be negative");
+        if (limit == 0) return Collections.emptyList();
+        return template.exec(new GraphCallback<List<T>>() {
+            @Override
+            public List<T> doWithGraph(GraphDatabase graph) throws Exception {
+                final List<T> result = new ArrayList<T>(Math.min(limit, BATCH_SIZE));
+                int toSkip = skip;
+                for (Relationship relationship : relationshipHelper.getRelationships(node)) {
+                    if (!isIncluded(relationship)) continue;
+                    if (toSkip > 0) {
+                        toSkip--;
+                        continue;
+                    }
+                    result.add(createEntity(relationship));
+                    if (result.size() == limit) break;
+                }
+                return result;
+            }
+        });
+    }
+
+    public List<T> limit(int limit) {
+        return slice(0, limit);
+    }
+
+    /**
+     * The relationships are read on demand by one cursor, each batch of entities is mapped within a transaction.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Iterator<Relationship> relationships;
+            private boolean exhausted;
+            private Iterator<T> batch = Collections.<T>emptyList().iterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!batch.hasNext() && !exhausted) {
+                    batch = loadBatch().iterator();
+                }
+                return batch.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return batch.next();
+            }
+
+            private List<T> loadBatch() {
+                return template.exec(new GraphCallback<List<T>>() {
+                    @Override
+                    public List<T> doWithGraph(GraphDatabase graph) throws Exception {
+                        if (relationships == null) relationships = relationshipHelper.getRelationships(node).iterator();
+                        final List<T> result = new ArrayList<T>(BATCH_SIZE);
+                        while (result.size() < BATCH_SIZE && relationships.hasNext()) {
+                            final Relationship relationship = relationships.next();
+                            if (isIncluded(relationship)) result.add(createEntity(relationship));
+                        }
+                        exhausted = !relationships.hasNext();
+                        return result;
+                    }
+                });
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Related entities are read only");
+            }
+        };
+    }
+
+    private Object writeReplace() {
+        final Set<T> entities = new LinkedHashSet<T>();
+        for (T entity : this) {
+            entities.add(entity);
+        }
+        return entities;
+    }
+
+    private void readObject(ObjectInputStream ois) throws InvalidObjectException {
+        throw new InvalidObjectException("Related entities are serialized as set");
+    }
+
+    private PropertyContainer stateOf(Relationship relationship) {
+        return relationshipEntities ? relationship : relationship.getOtherNode(node);
+    }
+
+    private boolean isIncluded(Relationship relationship) {
+        if (targetType == null) return true;
+        final Class<?> storedType = template.getStoredJavaType(relationship.getOtherNode(node));
+        return storedType != null && targetType.isAssignableFrom(storedType);
+    }
+
+    private T createEntity(Relationship relationship) {
+        return template.createEntityFromState(stateOf(relationship), relatedType, mappingPolicy);
+    }
+}
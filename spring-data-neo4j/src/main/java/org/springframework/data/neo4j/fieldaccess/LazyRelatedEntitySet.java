@@ -0,0 +1,139 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.neo4j.fieldaccess;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Set of related entities for mutable relationship collection fields that are not fetched. Until it is changed in
+ * memory the set is a view on the graph, reads go to {@link LazyRelatedEntities}. The first change in memory loads
+ * all related entities, afterwards the set holds them like the eagerly loaded collections.
+ * {@link ManagedFieldAccessorSet} writes single element changes directly to the graph while the set is not loaded.
+ *
+ * @author mh
+ * @since 16.10.26
+ */
+public class LazyRelatedEntitySet<T> extends AbstractSet<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient LazyRelatedEntities<T> relatedEntities;
+    private transient Set<T> loaded;
+
+    public LazyRelatedEntitySet(LazyRelatedEntities<T> relatedEntities) {
+        this.relatedEntities = relatedEntities;
+    }
+
+    public boolean isLoaded() {
+        return loaded != null;
+    }
+
+    private Set<T> load() {
+        if (loaded == null) {
+            final Set<T> entities = new HashSet<T>();
+            for (T entity : relatedEntities) {
+                entities.add(entity);
+            }
+            loaded = entities;
+        }
+        return loaded;
+    }
+
+    /**
+     * streams the related entities until the set is loaded, removing an element through the iterator loads the set
+     */
+    @Override
+    public Iterator<T> iterator() {
+        if (loaded != null) return loaded.iterator();
+        final Iterator<T> iterator = relatedEntities.iterator();
+        return new Iterator<T>() {
+            private T current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                current = iterator.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                load().remove(current);
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return loaded != null ? loaded.size() : relatedEntities.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return loaded != null ? loaded.isEmpty() : relatedEntities.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return loaded != null ? loaded.contains(o) : relatedEntities.contains(o);
+    }
+
+    @Override
+    public boolean add(T t) {
+        return load().add(t);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return load().remove(o);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return load().removeAll(c);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return load().retainAll(c);
+    }
+
+    @Override
+    public void clear() {
+        loaded = new HashSet<T>();
+    }
+
+    private Object writeReplace() {
+        return new LinkedHashSet<T>(this);
+    }
+
+    private void readObject(ObjectInputStream ois) throws InvalidObjectException {
+        throw new InvalidObjectException("Related entities are serialized as set");
+    }
+}
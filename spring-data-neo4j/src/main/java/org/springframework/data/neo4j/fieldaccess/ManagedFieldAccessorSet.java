@@ -80,19 +80,53 @@ public class ManagedFieldAccessorSet<T> extends AbstractSet<T> implements Serial
                 return iterator.hasNext();
             }
 
+            private T current;
+
             @Override
             public T next() {
-                return iterator.next();
+                current = iterator.next();
+                return current;
             }
 
             @Override
             public void remove() {
                 iterator.remove();
-                update();
+                removed(current);
             }
         };
 	}
 
+    /**
+     * accessors of unmanaged entities that support it only write the added element, otherwise the whole collection
+     * is written
+     */
+    private void added(T element) {
+        if (writesElements()) {
+            ((CollectionElementFieldAccessor) fieldAccessor).addElement(entity, element);
+        } else {
+            update();
+        }
+    }
+
+    private void removed(Object element) {
+        if (writesElements()) {
+            ((CollectionElementFieldAccessor) fieldAccessor).removeElement(entity, element);
+        } else {
+            update();
+        }
+    }
+
+    private boolean writesElements() {
+        return fieldAccessor instanceof CollectionElementFieldAccessor && !ctx.isManaged(entity) && fieldAccessor.isWriteable(entity);
+    }
+
+    /**
+     * a lazy set that is not loaded yet is a view on the graph, element changes are only written to the graph
+     */
+    private boolean writesElementsOnly() {
+        return delegate instanceof LazyRelatedEntitySet && !((LazyRelatedEntitySet<T>) delegate).isLoaded() && writesElements();
+    }
+
     private void update() {
         if (ctx.isManaged(entity)) {
             updateValueWithState(((ManagedEntity)entity).getEntityState());
@@ -122,24 +156,41 @@ public class ManagedFieldAccessorSet<T> extends AbstractSet<T> implements Serial
 
 	@Override
 	public boolean add(final T e) {
+        if (writesElementsOnly()) {
+            if (delegate.contains(e)) return false;
+            added(e);
+            return true;
+        }
 		final boolean res = delegate.add(e);
-		if (res) update();
+		if (res) added(e);
 		return res;
 	}
 
     @Override
     public boolean removeAll(Collection<?> c) {
-        if (delegate.removeAll(c)) {
-            update();
-            return true;
+        if (!writesElements()) {
+            if (delegate.removeAll(c)) {
+                update();
+                return true;
+            }
+            return false;
         }
-        return false;
+        boolean modified = false;
+        for (Object o : c) {
+            modified |= remove(o);
+        }
+        return modified;
     }
 
     @Override
     public boolean remove(Object o) {
+        if (writesElementsOnly()) {
+            if (!delegate.contains(o)) return false;
+            removed(o);
+            return true;
+        }
         if (delegate.remove(o)) {
-            update();
+            removed(o);
             return true;
         }
         return false;
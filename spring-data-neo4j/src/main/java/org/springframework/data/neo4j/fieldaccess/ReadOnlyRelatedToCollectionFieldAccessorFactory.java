@@ -25,6 +25,8 @@ import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
 import org.springframework.data.neo4j.mapping.RelationshipInfo;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
 
+import static org.springframework.data.neo4j.support.DoReturn.doReturn;
+
 public class ReadOnlyRelatedToCollectionFieldAccessorFactory implements FieldAccessorFactory {
 
     protected Neo4jTemplate template;
@@ -61,6 +63,26 @@ public class ReadOnlyRelatedToCollectionFieldAccessorFactory implements FieldAcc
 			throw new InvalidDataAccessApiUsageException("Cannot set read-only relationship entity field.");
 		}
 
+        @Override
+        public void addElement(Object entity, Object element) {
+            throw new InvalidDataAccessApiUsageException("Cannot set read-only relationship entity field.");
+        }
+
+        @Override
+        public void removeElement(Object entity, Object element) {
+            throw new InvalidDataAccessApiUsageException("Cannot set read-only relationship entity field.");
+        }
+
+        /**
+         * unless the field is fetched, a {@link LazyRelatedEntities} is returned instead of loading all related entities
+         */
+        @Override
+        public Object getValue(final Object entity, MappingPolicy mappingPolicy) {
+            final MappingPolicy currentPolicy = property.obtainMappingPolicy(mappingPolicy);
+            if (currentPolicy.shouldLoad()) return super.getValue(entity, mappingPolicy);
+            return doReturn(createLazyRelatedEntities(entity, currentPolicy));
+        }
+
         @Override
 		public Object getDefaultValue() {
 		    return null;
@@ -53,7 +53,7 @@ public class RelatedToCollectionFieldAccessorFactory implements FieldAccessorFac
         return new RelatedToCollectionFieldAccessor(relationshipInfo.getRelationshipType(), relationshipInfo.getDirection(), targetType, template, property);
     }
 
-    public static class RelatedToCollectionFieldAccessor extends RelatedToFieldAccessor {
+    public static class RelatedToCollectionFieldAccessor extends RelatedToFieldAccessor implements CollectionElementFieldAccessor {
 
         public RelatedToCollectionFieldAccessor(final RelationshipType type, final Direction direction, final Class<?> elementClass, final Neo4jTemplate template, Neo4jPersistentProperty property) {
             super(elementClass, template, direction, type, property);
@@ -69,10 +69,26 @@ public class RelatedToCollectionFieldAccessorFactory implements FieldAccessorFac
             return createManagedSet(entity, (Set<?>) newVal, property.obtainMappingPolicy(mappingPolicy));
         }
 
+        @Override
+        public void addElement(Object entity, Object element) {
+            createRelationshipTo(checkAndGetNode(entity), element);
+        }
+
+        @Override
+        public void removeElement(Object entity, Object element) {
+            removeRelationshipsTo(checkAndGetNode(entity), element);
+        }
+
+        /**
+         * unless the field is fetched, the related entities are only loaded when the set is changed in memory
+         */
         @Override
         public Object getValue(final Object entity, MappingPolicy mappingPolicy) {
             checkAndGetNode(entity);
             final MappingPolicy currentPolicy = property.obtainMappingPolicy(mappingPolicy);
+            if (!currentPolicy.shouldLoad()) {
+                return doReturn(createManagedSet(entity, new LazyRelatedEntitySet<Object>(createLazyRelatedEntities(entity, currentPolicy)), currentPolicy));
+            }
             final Set<?> result = property.isTargetTypeEnforced() ?
                     createEntitySetFromRelationshipEndNodesUsingTypeProperty(entity, currentPolicy) :
                     createEntitySetFromRelationshipEndNodes(entity, currentPolicy);
@@ -89,6 +105,15 @@ public class RelatedToCollectionFieldAccessorFactory implements FieldAccessorFac
             return doReturn(createManagedSet(entity, values, currentPolicy));
         }
 
+        @SuppressWarnings("unchecked")
+        protected LazyRelatedEntities<Object> createLazyRelatedEntities(Object entity, MappingPolicy currentPolicy) {
+            final Node node = checkAndGetNode(entity);
+            final boolean targetTypeEnforced = property.isTargetTypeEnforced();
+            final Class<Object> type = targetTypeEnforced ? null : (Class<Object>) relatedType;
+            final Class<?> targetType = targetTypeEnforced ? property.getTargetType() : null;
+            return new LazyRelatedEntities<Object>(node, relationshipHelper, type, targetType, template, currentPolicy);
+        }
+
         @Override
         public Object getDefaultValue() {
             // todo delegate to property
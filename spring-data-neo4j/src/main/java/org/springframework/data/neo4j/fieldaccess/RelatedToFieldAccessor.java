@@ -78,6 +78,14 @@ public abstract class RelatedToFieldAccessor implements FieldAccessor {
         relationshipHelper.createAddedRelationships( node, targetNodes );
     }
 
+    protected void createRelationshipTo(Node node, Object value) {
+        relationshipHelper.createRelationshipTo(node, value, relatedType);
+    }
+
+    protected void removeRelationshipsTo(Node node, Object value) {
+        relationshipHelper.removeRelationshipsTo(node, value);
+    }
+
     protected Set<Node> createSetOfTargetNodes(Object newVal) {
         return relationshipHelper.createSetOfTargetNodes(newVal, relatedType);
     }
@@ -114,15 +114,21 @@ public class RelatedToViaCollectionFieldAccessorFactory implements FieldAccessor
 	        return isMutableCollection;
 	    }
 
+        /**
+         * mutable collections only load the relationship entities when they are changed in memory, unless the field
+         * is fetched
+         */
 	    @Override
 	    public Object getValue(final Object entity, MappingPolicy mappingPolicy) {
             final Node node = relationshipHelper.checkAndGetNode(entity);
-            final GraphBackedEntityIterableWrapper<Relationship, ?> result = loadRelationshipEntities(node);
             if (isMutableCollection) {
-                @SuppressWarnings("unchecked") final ManagedFieldAccessorSet managedSet = createManagedSet(entity, IteratorUtil.addToCollection(result, new HashSet()), property.obtainMappingPolicy(mappingPolicy));
-                return doReturn(managedSet);
+                final MappingPolicy currentPolicy = property.obtainMappingPolicy(mappingPolicy);
+                @SuppressWarnings("unchecked") final Set<Object> relationshipEntities = currentPolicy.shouldLoad() ?
+                        IteratorUtil.addToCollection(loadRelationshipEntities(node), new HashSet()) :
+                        new LazyRelatedEntitySet<Object>(LazyRelatedEntities.relationshipEntities(node, relationshipHelper, (Class<Object>) relatedType, template, template.getMappingPolicy(relatedType)));
+                return doReturn(createManagedSet(entity, relationshipEntities, currentPolicy));
             }
-            return doReturn(result);
+            return doReturn(loadRelationshipEntities(node));
         }
 
         protected <T> ManagedFieldAccessorSet<T> createManagedSet(Object entity, Set<T> result, MappingPolicy mappingPolicy) {
@@ -116,6 +116,23 @@ public class RelationshipHelper {
         return relationship.getOtherNode( node ).getProperty( "__type__" , null);
     }
 
+    protected void createRelationshipTo(Node node, Object value, final Class<?> relatedType) {
+        if (!relatedType.isInstance(value)) {
+            throw new IllegalArgumentException("New value elements must be " + relatedType);
+        }
+        createSingleRelationship(node, getOrCreateState(value));
+    }
+
+    protected void removeRelationshipsTo(Node node, Object value) {
+        final Node otherNode = getNode(value);
+        if (otherNode == null) return;
+        for (Relationship relationship : node.getRelationships(type, direction)) {
+            if (relationship.getOtherNode(node).equals(otherNode)) {
+                template.delete(relationship);
+            }
+        }
+    }
+
     protected void createAddedRelationships(Node node, Set<Node> targetNodes) {
         for (Node targetNode : targetNodes) {
             createSingleRelationship(node, targetNode);
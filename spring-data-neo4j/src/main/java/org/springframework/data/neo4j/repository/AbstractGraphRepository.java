@@ -39,11 +39,14 @@ import org.springframework.data.neo4j.repository.query.CypherQuery;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
 import org.springframework.data.neo4j.support.index.NoSuchIndexException;
 import org.springframework.data.neo4j.support.index.NullReadableIndex;
+import org.springframework.data.neo4j.support.query.PageCountExecutor;
 import org.springframework.data.neo4j.support.query.QueryEngine;
 import org.springframework.data.neo4j.support.typerepresentation.LabelBasedNodeTypeRepresentationStrategy;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.concurrent.Future;
 
 import static java.lang.String.format;
 import static org.neo4j.helpers.collection.MapUtil.map;
@@ -123,6 +126,12 @@ public abstract class AbstractGraphRepository<S extends PropertyContainer, T> im
         }
         return entities;
     }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public <U extends T> Iterable<U> save(Iterable<U> entities, int batchSize) {
+        return template.save(entities, batchSize);
+    }
     
     /**
      * @return Number of instances of the target type in the graph.
@@ -356,9 +365,12 @@ public abstract class AbstractGraphRepository<S extends PropertyContainer, T> im
 
     @Override
     public EndResult<T> findAll(Sort sort) {
+        return query(createFindAllQuery().toQueryString(sort), Collections.EMPTY_MAP);
+    }
+
+    private CypherQuery createFindAllQuery() {
         TypeRepresentationStrategy nodeTypeRepresentationStrategy = template.getInfrastructure().getNodeTypeRepresentationStrategy();
-        CypherQuery cq = new CypherQuery(template.getEntityType(clazz).getEntity(),template,nodeTypeRepresentationStrategy);
-        return query(cq.toQueryString(sort), Collections.EMPTY_MAP);
+        return new CypherQuery(template.getEntityType(clazz).getEntity(),template,nodeTypeRepresentationStrategy);
     }
 
     @Override
@@ -368,65 +380,86 @@ public abstract class AbstractGraphRepository<S extends PropertyContainer, T> im
 
     @Override
     public Page<T> findAll(final Pageable pageable) {
+        return findAll(pageable, false);
+    }
+
+    /**
+     * skip and limit are applied by the cypher query, one additional element is requested to detect further pages,
+     * the exact total is only counted if requested or the page is behind the last element
+     */
+    @Override
+    public Page<T> findAll(final Pageable pageable, boolean countTotal) {
         int count = pageable.getPageSize();
         int offset = pageable.getOffset();
-        EndResult<T> foundEntities = findAll(pageable.getSort());
+        final String query = createFindAllQuery().toQueryString(pageable.getSort(), offset, count + 1);
+        EndResult<T> foundEntities = query(query, Collections.<String, Object>emptyMap());
         final Iterator<T> iterator = foundEntities.iterator();
-        final PageImpl<T> page = extractPage(pageable, count, offset, iterator);
+        final List<T> result = new ArrayList<T>(count);
+        while (iterator.hasNext() && result.size() < count) {
+            result.add(iterator.next());
+        }
+        long total = offset + result.size();
+        if (iterator.hasNext()) total++;
         foundEntities.finish();
-        return page;
+        if (countTotal || (result.isEmpty() && offset > 0)) {
+            total = count();
+        }
+        return new PageImpl<T>(result, pageable, total);
     }
 
     @Override
     public Iterable<T> findAll(final Iterable<Long> ids) {
-        return new Iterable<T>() {
-            @Override
-            public Iterator<T> iterator() {
-                final Iterator<Long> idIterator = ids.iterator();
-                return new Iterator<T>() {
-
-                     @Override
-                     public boolean hasNext() {
-                         return idIterator.hasNext();
-                     }
-
-                     @Override
-                     public T next() {
-                          return template.findOne(idIterator.next(), clazz);
-                     }
-
-                     @Override
-                     public void remove() {
-                          throw new UnsupportedOperationException();
-                     }
-                };
-            }
-        };
+        return findAll(ids, false);
     }
 
-    private PageImpl<T> extractPage(Pageable pageable, int count, int offset, Iterator<T> iterator) {
-        final List<T> result = new ArrayList<T>(count);
-        int total=subList(offset, count, iterator, result);
-        if (iterator.hasNext()) total++;
-        return new PageImpl<T>(result, pageable, total);
+    /**
+     * loads all nodes or relationships with one cypher query and maps them afterwards
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterable<T> findAll(final Iterable<Long> ids, boolean preserveOrder) {
+        final List<Long> idList = new ArrayList<Long>();
+        for (Long id : ids) {
+            idList.add(id);
+        }
+        if (idList.isEmpty()) return Collections.emptyList();
+        final Map<Long, S> states = loadStates(idList);
+        final List<T> result = new ArrayList<T>(idList.size());
+        if (!preserveOrder) {
+            for (S state : states.values()) {
+                result.add(createEntity(state));
+            }
+            return result;
+        }
+        final Map<Long, T> entities = new HashMap<Long, T>(states.size());
+        for (Long id : idList) {
+            T entity = entities.get(id);
+            if (entity == null) {
+                final S state = states.get(id);
+                if (state == null) continue;
+                entity = createEntity(state);
+                entities.put(id, entity);
+            }
+            result.add(entity);
+        }
+        return result;
     }
 
-    private int subList(int skip, int limit, Iterator<T> source, final List<T> list) {
-        int count=0;
-        while (source.hasNext()) {
-            count++;
-            T t = source.next();
-            if (skip > 0) {
-                skip--;
-            } else {
-                list.add(t);
-                limit--;
-            }
-            if (limit + skip == 0) break;
+    @SuppressWarnings("unchecked")
+    private Map<Long, S> loadStates(List<Long> ids) {
+        final Map<Long, S> states = new LinkedHashMap<Long, S>(ids.size());
+        for (Map<String, Object> row : template.query(findAllByIdsQuery(), map("ids", (Object) ids))) {
+            states.put(((Number) row.get("id")).longValue(), (S) row.get("state"));
         }
-        return count;
+        return states;
     }
 
+    /**
+     * @return cypher query that returns the node or relationship for each existing id of the <code>ids</code> parameter
+     * as <code>state</code> and its <code>id</code>, ids that don't exist must not fail the query
+     */
+    protected abstract String findAllByIdsQuery();
+
     private class IndexHitsWrapper extends IterableWrapper<T, S> implements ClosableIterable<T> {
         private final IndexHits<S> indexHits;
 
@@ -450,12 +483,21 @@ public abstract class AbstractGraphRepository<S extends PropertyContainer, T> im
     @Override
     public Page<T> query(Execute query, Execute countQuery, Map<String, Object> params, Pageable page) {
         final Execute limitedQuery = ((Skip)query).skip(page.getOffset()).limit(page.getPageSize());
+        final PageCountExecutor pageCountExecutor = template.getInfrastructure().getPageCountExecutor();
+        final boolean concurrentCount = countQuery != null && pageCountExecutor != null && !PageCountExecutor.isWriteTransactionActive();
+        final Future<Long> pendingCount = concurrentCount ? pageCountExecutor.submit(template, countQuery.toString(), params) : null;
         QueryEngine<Object> engine = template.queryEngineFor(QueryType.Cypher);
-        Page result = engine.query(limitedQuery.toString(), params).to(clazz).as(Page.class);
+        final Page result;
+        try {
+            result = engine.query(limitedQuery.toString(), params).to(clazz).as(Page.class);
+        } catch (RuntimeException e) {
+            if (pendingCount != null) pageCountExecutor.cancel(pendingCount);
+            throw e;
+        }
         if (countQuery == null) {
             return result; 
         }
-        Long count = engine.query(countQuery.toString(), params).to(Long.class).singleOrNull();
+        Long count = pendingCount != null ? pageCountExecutor.join(pendingCount) : engine.query(countQuery.toString(), params).to(Long.class).singleOrNull();
         if (count==null) return result;
         return new PageImpl<T>(result.getContent(),page, count);
     }
@@ -18,6 +18,8 @@ package org.springframework.data.neo4j.repository;
 
 import java.util.Map;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.neo4j.conversion.EndResult;
 import org.springframework.data.repository.NoRepositoryBean;
@@ -51,6 +53,34 @@ public interface CRUDRepository<T> extends PagingAndSortingRepository<T, Long> {
     EndResult<T> findAll(Sort sort);
 
 
+    /**
+     * saves the entities in batches of the given size, each batch is stored in one transaction unless an outer
+     * transaction is running, the entities are not re-read after saving
+     * @param entities
+     * @param batchSize number of entities stored per transaction
+     * @return the saved entities in the order of the given ones
+     */
+    <U extends T> Iterable<U> save(Iterable<U> entities, int batchSize);
+
+
+    /**
+     * loads the entities with the given ids in a single query
+     * @param ids
+     * @param preserveOrder if true the result follows the order of the given ids, otherwise the order is undefined
+     * @return the entities with the given ids, ids that don't exist are skipped
+     */
+    Iterable<T> findAll(Iterable<Long> ids, boolean preserveOrder);
+
+
+    /**
+     * loads a single page of entities, skip and limit are applied by the query
+     * @param pageable
+     * @param countTotal if true the total number of entities is counted, otherwise it is only known to exceed the current page
+     * @return the requested page
+     */
+    Page<T> findAll(Pageable pageable, boolean countTotal);
+
+
     Class getStoredJavaType(Object entity);
 
     
@@ -33,6 +33,11 @@ public class NodeGraphRepositoryImpl<T> extends AbstractGraphRepository<Node, T>
         return template.getNode(id);
     }
 
+    @Override
+    protected String findAllByIdsQuery() {
+        return "match (n) where id(n) in {ids} return id(n) as id, n as state";
+    }
+
     @Override
     public <N> Iterable<T> findAllByTraversal(final N start, final TraversalDescription traversalDescription) {
         return template.traverse(start, clazz, traversalDescription);
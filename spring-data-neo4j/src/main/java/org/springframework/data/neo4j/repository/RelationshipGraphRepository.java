@@ -33,6 +33,11 @@ public class RelationshipGraphRepository<T> extends AbstractGraphRepository<Rela
         return template.getRelationship(id);
     }
 
+    @Override
+    protected String findAllByIdsQuery() {
+        return "match ()-[r]->() where id(r) in {ids} return id(r) as id, r as state";
+    }
+
     @Override
     public <N> Iterable<T> findAllByTraversal(final N startNode, final TraversalDescription traversalDescription) {
         throw new UnsupportedOperationException("Traversal not able to start at relationship");
@@ -22,6 +22,7 @@ import org.springframework.data.neo4j.core.TypeRepresentationStrategy;
 import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
 import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.data.neo4j.support.index.IndexType;
 import org.springframework.data.neo4j.support.typerepresentation.LabelBasedNodeTypeRepresentationStrategy;
 import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.parser.Part;
@@ -42,11 +43,22 @@ public class CypherQuery implements CypherQueryDefinition {
     private final Neo4jTemplate template;
     private boolean isCountQuery = false;
     private boolean useLabels = false;
+    private boolean useSchemaIndexes = false;
 
     public CypherQuery(final Neo4jPersistentEntity<?> entity, Neo4jTemplate template, TypeRepresentationStrategy nodeTypeRepresentationStrategy) {
+        this(entity, template, nodeTypeRepresentationStrategy, false);
+    }
+
+    /**
+     * @param useSchemaIndexes if true and labels are used, exact lookups of indexed properties of the entity are
+     * expressed as {@code MATCH (n:Label) WHERE n.prop = {p}} which can be answered by a schema index,
+     * instead of as legacy index start clauses
+     */
+    public CypherQuery(final Neo4jPersistentEntity<?> entity, Neo4jTemplate template, TypeRepresentationStrategy nodeTypeRepresentationStrategy, boolean useSchemaIndexes) {
         this.entity = entity;
         this.template = template;
         this.useLabels = nodeTypeRepresentationStrategy instanceof LabelBasedNodeTypeRepresentationStrategy;
+        this.useSchemaIndexes = useLabels && useSchemaIndexes;
     }
 
     private String getEntityName(Neo4jPersistentEntity<?> entity) {
@@ -74,7 +86,7 @@ public class CypherQuery implements CypherQueryDefinition {
         // index1(a=foo) where a.foo=bar
         Neo4jPersistentProperty leafProperty = partInfo.getLeafProperty();
         if (partInfo.isPrimitiveProperty() && !leafProperty.isIdProperty()) {
-            if (!addedStartClause(partInfo)) {
+            if (isSchemaIndexLookup(partInfo) || !addedStartClause(partInfo)) {
                 whereClauses.add(new WhereClause(partInfo,template));
             }
         } else if (leafProperty.isRelationship() || leafProperty.isIdProperty()) {
@@ -117,6 +129,13 @@ public class CypherQuery implements CypherQueryDefinition {
             : new Sort.Order(o.getDirection(),getEntityName(entity)+"."+o.getProperty());
     }
 
+    private boolean isSchemaIndexLookup(PartInfo partInfo) {
+        if (!useSchemaIndexes || !partInfo.isIndexed()) return false;
+        if (partInfo.getType() != Part.Type.SIMPLE_PROPERTY) return false;
+        if (partInfo.getLeafProperty().getIndexInfo().getIndexType() != IndexType.SIMPLE) return false;
+        return partInfo.getIdentifier().equals(getEntityName(entity));
+    }
+
     private boolean addedStartClause(PartInfo partInfo) {
         if (!partInfo.isIndexed()) return false;
 
@@ -204,7 +223,11 @@ public class CypherQuery implements CypherQueryDefinition {
 
     private void renderMatchClauses(StringBuilder builder, String matchClauses, boolean startClauseInUse) {
         if (hasText(matchClauses)) {
-            builder.append(" MATCH ").append(matchClauses);
+            builder.append(" MATCH ");
+            if (useSchemaIndexes && !startClauseInUse) {
+                builder.append(defaultMatchBasedStartClause(entity)).append(", ");
+            }
+            builder.append(matchClauses);
             return;
         }
         if (useLabelBasedTRS() && !startClauseInUse) {
@@ -295,8 +318,22 @@ public class CypherQuery implements CypherQueryDefinition {
         if (pageable == null) {
             return render();
         }
-        StringBuilder builder = new StringBuilder(toQueryString(pageable.getSort()));
-        builder.append(String.format(QueryTemplates.SKIP_LIMIT, pageable.getOffset(), pageable.getPageSize()));
+        return toQueryString(pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+    }
+
+    /**
+     * Returns a Cypher query adding the given {@link Sort} that skips and limits the results on the server.
+     */
+    public String toQueryString(Sort sort, int skip, int limit) {
+        StringBuilder builder = new StringBuilder(toQueryString(sort));
+        builder.append(String.format(QueryTemplates.SKIP_LIMIT, skip, limit));
+        return builder.toString();
+    }
+
+    @Override
+    public String toPagedQueryString(Sort sort) {
+        StringBuilder builder = new StringBuilder(toQueryString(sort));
+        builder.append(String.format(QueryTemplates.SKIP_LIMIT_PARAMETERS, QueryTemplates.SKIP_PARAMETER, QueryTemplates.LIMIT_PARAMETER));
         return builder.toString();
     }
 
@@ -19,6 +19,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
 import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+import org.springframework.data.neo4j.support.Infrastructure;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
 import org.springframework.data.neo4j.support.typerepresentation.LabelBasedNodeTypeRepresentationStrategy;
 import org.springframework.data.repository.query.parser.Part;
@@ -36,7 +37,8 @@ class CypherQueryBuilder {
     public CypherQueryBuilder(MappingContext<? extends Neo4jPersistentEntity<?>, Neo4jPersistentProperty> context, Class<?> type, Neo4jTemplate template) {
         this.context = context;
         Neo4jPersistentEntity<?> entity = context.getPersistentEntity(type);
-        this.query = new CypherQuery(entity, template, template.getInfrastructure().getNodeTypeRepresentationStrategy());
+        final Infrastructure infrastructure = template.getInfrastructure();
+        this.query = new CypherQuery(entity, template, infrastructure.getNodeTypeRepresentationStrategy(), infrastructure.isSchemaIndexesEnabled());
     }
 
     public CypherQueryBuilder asCountQuery() {
@@ -52,4 +52,13 @@ interface CypherQueryDefinition extends ParameterResolver {
      * @return
      */
     String toQueryString(Pageable pageable);
+
+    /**
+     * Returns a Cypher query applying the given {@link Sort} that takes skip and limit from the
+     * {@link QueryTemplates#SKIP_PARAMETER} and {@link QueryTemplates#LIMIT_PARAMETER} parameters.
+     *
+     * @param sort
+     * @return
+     */
+    String toPagedQueryString(Sort sort);
 }
@@ -30,6 +30,8 @@ import org.springframework.data.repository.query.parser.PartTree;
 import org.springframework.util.Assert;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * {@link RepositoryQuery} implementation that derives a Cypher query from the {@link GraphQueryMethod}'s method name.
@@ -39,7 +41,9 @@ import java.util.Map;
 public class DerivedCypherRepositoryQuery extends CypherGraphRepositoryQuery {
 
     public static final Logger log = LoggerFactory.getLogger(DerivedCypherRepositoryQuery.class);
+    private static final int MAX_CACHED_QUERIES = 256;
     private final CypherQueryDefinition query;
+    private final ConcurrentMap<QueryShape, String> queryStrings = new ConcurrentHashMap<QueryShape, String>();
 
     /**
      * Creates a new {@link DerivedCypherRepositoryQuery} from the given {@link MappingContext},
@@ -65,19 +69,61 @@ public class DerivedCypherRepositoryQuery extends CypherGraphRepositoryQuery {
         return super.resolveParameters(query.resolveParameters(parameters));
     }
 
+    @Override
+    protected Map<String, Object> resolveParams(ParameterAccessor accessor) {
+        final Map<String, Object> params = super.resolveParams(accessor);
+        final Pageable pageable = accessor.getPageable();
+        if (pageable != null) {
+            params.put(QueryTemplates.SKIP_PARAMETER, pageable.getOffset());
+            params.put(QueryTemplates.LIMIT_PARAMETER, pageable.getPageSize());
+        }
+        return params;
+    }
+
     /**
-     * Returns the actual Cypher query applying {@link Pageable} or {@link Sort} instances.
+     * Returns the actual Cypher query applying {@link Pageable} or {@link Sort} instances. The query strings are cached
+     * per sort and paging shape, skip and limit are passed as parameters.
      * 
      * @param accessor parameters
      * @return query string
      */
     protected String createQueryWithPagingAndSorting(ParameterAccessor accessor) {
-        if (accessor.getPageable() != null) {
-            return query.toQueryString(accessor.getPageable());
-        } else if (accessor.getSort() != null) {
-            return query.toQueryString(accessor.getSort());
-        } else {
+        final Pageable pageable = accessor.getPageable();
+        final QueryShape shape = pageable != null ? new QueryShape(pageable.getSort(), true) : new QueryShape(accessor.getSort(), false);
+        String queryString = queryStrings.get(shape);
+        if (queryString == null) {
+            queryString = shape.render(query);
+            if (queryStrings.size() < MAX_CACHED_QUERIES) queryStrings.putIfAbsent(shape, queryString);
+        }
+        return queryString;
+    }
+
+    private static class QueryShape {
+        private final Sort sort;
+        private final boolean paged;
+
+        QueryShape(Sort sort, boolean paged) {
+            this.sort = sort;
+            this.paged = paged;
+        }
+
+        String render(CypherQueryDefinition query) {
+            if (paged) return query.toPagedQueryString(sort);
+            if (sort != null) return query.toQueryString(sort);
             return query.toQueryString();
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            QueryShape that = (QueryShape) o;
+            return paged == that.paged && (sort == null ? that.sort == null : sort.equals(that.sort));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (sort != null ? sort.hashCode() : 0) + (paged ? 1 : 0);
+        }
     }
 }
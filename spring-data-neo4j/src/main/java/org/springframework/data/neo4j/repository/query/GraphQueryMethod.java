@@ -15,6 +15,7 @@
  */
 package org.springframework.data.neo4j.repository.query;
 
+import org.neo4j.graphdb.ResourceIterator;
 import org.springframework.data.neo4j.annotation.Query;
 import org.springframework.data.neo4j.support.GenericTypeExtractor;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
@@ -28,7 +29,10 @@ import org.springframework.data.repository.query.RepositoryQuery;
 import org.springframework.util.StringUtils;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.Future;
 
 /**
 * @author mh
@@ -40,6 +44,11 @@ public class GraphQueryMethod extends QueryMethod {
     private final NamedQueries namedQueries;
     private final Neo4jMappingContext mappingContext;
     private final Query queryAnnotation;
+    private final List<Parameter> bindableParameters = new ArrayList<Parameter>();
+    private final Map<Parameter, String> parameterNames = new IdentityHashMap<Parameter, String>();
+    private final boolean asyncResult;
+    private final Class<?> returnType;
+    private final Type genericReturnType;
 
     public GraphQueryMethod(Method method, RepositoryMetadata metadata, NamedQueries namedQueries, Neo4jMappingContext mappingContext) {
         super(method, metadata);
@@ -47,6 +56,36 @@ public class GraphQueryMethod extends QueryMethod {
         this.namedQueries = namedQueries;
         this.mappingContext = mappingContext;
         this.queryAnnotation = method.getAnnotation(Query.class);
+        for (Parameter parameter : getParameters().getBindableParameters()) {
+            bindableParameters.add(parameter);
+            parameterNames.put(parameter, getParameterName(parameter));
+        }
+        this.asyncResult = Future.class.equals(method.getReturnType());
+        this.genericReturnType = asyncResult ? futureValueType(method.getGenericReturnType()) : method.getGenericReturnType();
+        this.returnType = asyncResult ? rawType(genericReturnType) : method.getReturnType();
+        if (asyncResult && isLazyResult()) {
+            throw new IllegalStateException("Asynchronous query method " + method + " has to return a Future of a List, Collection, Set or Iterable, the transaction of the query is finished before a lazy " + returnType.getSimpleName() + " could be consumed");
+        }
+    }
+
+    /**
+     * Only results assignable from a {@link List} are read within the transaction of an asynchronous query,
+     * collections are filled anyway.
+     */
+    private boolean isLazyResult() {
+        if (Collection.class.isAssignableFrom(returnType) || returnType.isAssignableFrom(List.class)) return false;
+        return Iterable.class.isAssignableFrom(returnType) || Iterator.class.isAssignableFrom(returnType);
+    }
+
+    private static Type futureValueType(Type futureType) {
+        if (!(futureType instanceof ParameterizedType)) return Object.class;
+        return ((ParameterizedType) futureType).getActualTypeArguments()[0];
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class) return (Class<?>) type;
+        if (type instanceof ParameterizedType) return (Class<?>) ((ParameterizedType) type).getRawType();
+        return Object.class;
     }
 
     public String getQueryString() {
@@ -79,9 +118,19 @@ public class GraphQueryMethod extends QueryMethod {
 		return StringUtils.hasText(annotatedName) ? annotatedName : getNamedQueryName() + ".count";
 	}
 
-    
+    /**
+     * @return the declared return type, for methods returning a {@link Future} the type of its value
+     */
     public Class<?> getReturnType() {
-        return method.getReturnType();
+        return returnType;
+    }
+
+    /**
+     * @return true if the method is declared to return a {@link Future}, the query then runs in its own transaction
+     * on the executor for asynchronous operations and iterable results are read within that transaction
+     */
+    public boolean isAsyncResult() {
+        return asyncResult;
     }
 
     protected Map<String, Object> resolveParams(ParameterAccessor accessor, ParameterResolver parameterResolver) {
@@ -91,8 +140,8 @@ public class GraphQueryMethod extends QueryMethod {
     }
 
     private Map<Parameter, Object> getParameterValues(ParameterAccessor accessor) {
-        Map<Parameter,Object> parameters=new LinkedHashMap<Parameter, Object>();
-        for (Parameter parameter : getParameters().getBindableParameters()) {
+        Map<Parameter,Object> parameters=new LinkedHashMap<Parameter, Object>(capacityFor(bindableParameters.size()));
+        for (Parameter parameter : bindableParameters) {
             final Object value = accessor.getBindableValue(parameter.getIndex());
             parameters.put(parameter,value);
         }
@@ -100,13 +149,20 @@ public class GraphQueryMethod extends QueryMethod {
     }
 
     private Map<String, Object> nameParameters(Map<Parameter, Object> parameters) {
-        Map<String, Object> params = new HashMap<String, Object>();
+        // room for the skip and limit parameters of derived paged queries
+        Map<String, Object> params = new HashMap<String, Object>(capacityFor(parameters.size() + 2));
         for (Map.Entry<Parameter, Object> entry : parameters.entrySet()) {
-            params.put(getParameterName(entry.getKey()), entry.getValue());
+            final Parameter parameter = entry.getKey();
+            final String name = parameterNames.get(parameter);
+            params.put(name != null ? name : getParameterName(parameter), entry.getValue());
         }
         return params;
     }
 
+    private static int capacityFor(int size) {
+        return size * 4 / 3 + 1;
+    }
+
     private String getParameterName(Parameter parameter) {
         final String parameterName = parameter.getName();
         if (parameterName != null) {
@@ -120,7 +176,7 @@ public class GraphQueryMethod extends QueryMethod {
         if (elementClass!=null) {
             return elementClass;
         }
-        return GenericTypeExtractor.resolveReturnedType(method);
+        return GenericTypeExtractor.resolveConcreteType(returnType, genericReturnType);
     }
 
     private Class<?> getElementClass() {
@@ -167,6 +223,17 @@ public class GraphQueryMethod extends QueryMethod {
         return hasResultOfType(Collection.class);
     }
 
+    /**
+     * @return true if the method is declared to return an {@link Iterator} or {@link ResourceIterator}, which is
+     * then served by a closeable iterator that converts the rows on demand. Outside of a Spring transaction the
+     * iterator holds a transaction bound to the calling thread, callers have to exhaust or close it.
+     */
+    public boolean isStreamingResult() {
+        if (asyncResult) return false;
+        final Class<?> returnType = getReturnType();
+        return Iterator.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(ResourceIterator.class);
+    }
+
     @Override
     public String toString() {
         return "Repository-Graph-Query-Method for "+method;
@@ -17,22 +17,28 @@ package org.springframework.data.neo4j.repository.query;
 
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Transaction;
 import org.neo4j.helpers.collection.IteratorUtil;
+import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.neo4j.conversion.EndResult;
 import org.springframework.data.neo4j.core.GraphDatabase;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.data.neo4j.support.query.PageCountExecutor;
 import org.springframework.data.neo4j.support.query.QueryEngine;
 import org.springframework.data.neo4j.template.GraphCallback;
 import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import java.util.*;
+import java.util.concurrent.Future;
 
 /**
 * @author mh
@@ -41,28 +47,37 @@ import java.util.*;
 abstract class GraphRepositoryQuery implements RepositoryQuery, ParameterResolver {
     private final GraphQueryMethod queryMethod;
     protected final Neo4jTemplate template;
+    private final Set<Parameter> simpleParameters = Collections.newSetFromMap(new IdentityHashMap<Parameter, Boolean>());
 
     public GraphRepositoryQuery(GraphQueryMethod queryMethod, final Neo4jTemplate template) {
         Assert.notNull(queryMethod);
         Assert.notNull(template);
         this.queryMethod = queryMethod;
         this.template = template;
+        for (Parameter parameter : queryMethod.getParameters().getBindableParameters()) {
+            if (BeanUtils.isSimpleProperty(parameter.getType())) simpleParameters.add(parameter);
+        }
     }
 
     protected Neo4jTemplate getTemplate() {
         return template;
     }
 
+    /**
+     * Replaces entity values with the ids of their nodes or relationships, parameters declared with a simple type like
+     * strings, numbers, dates or enums can't hold entities and are skipped.
+     */
     @Override
     public Map<Parameter, Object> resolveParameters(Map<Parameter, Object> parameters) {
-        Map<Parameter, Object> result=new LinkedHashMap<Parameter, Object>();
         for (Map.Entry<Parameter, Object> entry : parameters.entrySet()) {
-            result.put(entry.getKey(), convertGraphEntityToId(entry.getValue()));
+            if (simpleParameters.contains(entry.getKey())) continue;
+            entry.setValue(convertGraphEntityToId(entry.getValue()));
         }
-        return result;
+        return parameters;
     }
 
     private Object convertGraphEntityToId(Object value) {
+        if (value == null) return null;
         final Class<?> type = value.getClass();
         if (template.isNodeEntity(type)) {
             final Node state = template.getPersistentState(value);
@@ -77,17 +92,77 @@ abstract class GraphRepositoryQuery implements RepositoryQuery, ParameterResolve
 
     @Override
     public Object execute(final Object[] parameters) {
+        if (queryMethod.isStreamingResult()) {
+            return stream(parameters);
+        }
+        if (queryMethod.isAsyncResult()) {
+            return template.execAsync(new GraphCallback<Object>() {
+                @Override
+                public Object doWithGraph(GraphDatabase graph) throws Exception {
+                    return materialize(executeQuery(parameters, true));
+                }
+            });
+        }
+        // checked before exec() starts its own transaction, only a writing transaction of the caller matters
+        final boolean concurrentCount = !PageCountExecutor.isWriteTransactionActive();
         return template.exec(new GraphCallback<Object>() {
             @Override
             public Object doWithGraph(GraphDatabase graph) throws Exception {
-                final ParameterAccessor accessor = new ParametersParameterAccessor(queryMethod.getParameters(), parameters);
-                Map<String, Object> params = resolveParams(accessor);
-                final String queryString = createQueryWithPagingAndSorting(accessor);
-                return dispatchQuery(queryString, params, accessor);
+                return executeQuery(parameters, concurrentCount);
             }
         });
     }
 
+    private Object executeQuery(Object[] parameters, boolean concurrentCount) {
+        final ParameterAccessor accessor = new ParametersParameterAccessor(queryMethod.getParameters(), parameters);
+        Map<String, Object> params = resolveParams(accessor);
+        final String queryString = createQueryWithPagingAndSorting(accessor);
+        return dispatchQuery(queryString, params, accessor, concurrentCount);
+    }
+
+    /**
+     * Results of asynchronous queries are read in the transaction of the query, as it is finished before they
+     * are consumed.
+     */
+    @SuppressWarnings("unchecked")
+    private Object materialize(Object result) {
+        if (!(result instanceof EndResult) || !queryMethod.getReturnType().isAssignableFrom(List.class)) return result;
+        return IteratorUtil.addToCollection((EndResult<?>) result, new ArrayList());
+    }
+
+    /**
+     * Streaming results outlive the method call. Within a Spring transaction of the caller they join it and are
+     * closed before it completes, otherwise they get their own transaction which stays bound to the calling thread
+     * until the returned iterator is exhausted or closed.
+     */
+    @SuppressWarnings("unchecked")
+    private Object stream(final Object[] parameters) {
+        final boolean joinTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        final Transaction tx = joinTransaction ? null : template.getGraphDatabase().beginTx();
+        try {
+            final ParameterAccessor accessor = new ParametersParameterAccessor(queryMethod.getParameters(), parameters);
+            Map<String, Object> params = resolveParams(accessor);
+            final String queryString = createQueryWithPagingAndSorting(accessor);
+            final EndResult<?> result = getQueryEngine().query(queryString, params).to(queryMethod.getCompoundType());
+            final TransactionalResultIterator iterator = new TransactionalResultIterator(result, tx);
+            if (joinTransaction && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                    @Override
+                    public void beforeCompletion() {
+                        iterator.expire();
+                    }
+                });
+            }
+            return iterator;
+        } catch (RuntimeException e) {
+            if (tx != null) {
+                tx.failure();
+                tx.finish();
+            }
+            throw e;
+        }
+    }
+
     protected Map<String, Object> resolveParams(ParameterAccessor accessor) {
         return queryMethod.resolveParams(accessor, this);
     }
@@ -96,15 +171,34 @@ abstract class GraphRepositoryQuery implements RepositoryQuery, ParameterResolve
         return queryMethod.getQueryString();
     }
 
-    @SuppressWarnings("unchecked")
     protected Object dispatchQuery(String queryString, Map<String, Object> params, ParameterAccessor accessor) {
+        return dispatchQuery(queryString, params, accessor, false);
+    }
+
+    /**
+     * @param concurrentCount if the count query of a page query may run concurrently in its own transaction
+     */
+    @SuppressWarnings("unchecked")
+    private Object dispatchQuery(String queryString, Map<String, Object> params, ParameterAccessor accessor, boolean concurrentCount) {
         GraphQueryMethod queryMethod = getQueryMethod();
         final QueryEngine<?> queryEngine = getQueryEngine();
         final Class<?> compoundType = queryMethod.getCompoundType();
         if (queryMethod.isPageQuery()) {
-            @SuppressWarnings("unchecked") final Iterable<?> result = queryEngine.query(queryString, params).to(compoundType);
-            Long count = computeCount(params);
-            return createPage(result, accessor.getPageable(),count);
+            final Future<Long> pendingCount = concurrentCount ? submitCount(params) : null;
+            if (pendingCount == null) {
+                @SuppressWarnings("unchecked") final Iterable<?> result = queryEngine.query(queryString, params).to(compoundType);
+                Long count = computeCount(params);
+                return createPage(result, accessor.getPageable(),count);
+            }
+            final PageCountExecutor pageCountExecutor = template.getInfrastructure().getPageCountExecutor();
+            final List content;
+            try {
+                content = IteratorUtil.addToCollection(queryEngine.query(queryString, params).to(compoundType), new ArrayList());
+            } catch (RuntimeException e) {
+                pageCountExecutor.cancel(pendingCount);
+                throw e;
+            }
+            return createPage(content, accessor.getPageable(), pageCountExecutor.join(pendingCount));
         }
         if (queryMethod.isIterableResult()) {
             final EndResult<?> result = queryEngine.query(queryString, params).to(compoundType);
@@ -115,6 +209,19 @@ abstract class GraphRepositoryQuery implements RepositoryQuery, ParameterResolve
         return queryEngine.query(queryString, params).to(queryMethod.getReturnType()).singleOrNull();
     }
 
+    /**
+     * Starts the count query concurrently to the content query if a page count executor is configured.
+     *
+     * @return null if the count has to be computed after the content query
+     */
+    private Future<Long> submitCount(Map<String, Object> params) {
+        final PageCountExecutor pageCountExecutor = template.getInfrastructure().getPageCountExecutor();
+        if (pageCountExecutor == null) return null;
+        String countQuery = queryMethod.getCountQueryString();
+        if (countQuery == null || !StringUtils.hasText(countQuery)) return null;
+        return pageCountExecutor.submit(template, countQuery, params);
+    }
+
     private Long computeCount(Map<String, Object> params) {
         String countQuery = queryMethod.getCountQueryString();
         if (countQuery == null || !StringUtils.hasText(countQuery)) return null;
@@ -129,7 +236,7 @@ abstract class GraphRepositoryQuery implements RepositoryQuery, ParameterResolve
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     protected Object createPage(Iterable<?> result, Pageable pageable, Long count) {
-        final List resultList = IteratorUtil.addToCollection(result, new ArrayList());
+        final List resultList = result instanceof List ? (List) result : IteratorUtil.addToCollection(result, new ArrayList());
         if (pageable==null) {
             return new PageImpl(resultList);
         }
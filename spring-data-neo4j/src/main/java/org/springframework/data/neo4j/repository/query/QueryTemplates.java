@@ -50,6 +50,9 @@ public abstract class QueryTemplates {
 
     public static final String START_NODE_LOOKUP = "`%s`=node({%d})";
     static final String SKIP_LIMIT = " SKIP %d LIMIT %d";
+    static final String SKIP_LIMIT_PARAMETERS = " SKIP {%s} LIMIT {%s}";
+    public static final String SKIP_PARAMETER = "_skip";
+    public static final String LIMIT_PARAMETER = "_limit";
     static final String START_CLAUSE_INDEX_LOOKUP = "`%s`=node:`%s`(`%s`=" + PLACEHOLDER + ")";
     static final String START_CLAUSE_INDEX_QUERY = "`%s`=node:`%s`(" + PLACEHOLDER + ")";
     static final String WHERE_CLAUSE_1 = "`%1$s`.`%2$s` %3$s {%4$d}";
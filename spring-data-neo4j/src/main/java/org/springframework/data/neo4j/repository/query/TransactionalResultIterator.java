@@ -0,0 +1,115 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.repository.query;
+
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.graphdb.Transaction;
+import org.springframework.data.neo4j.conversion.EndResult;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Result of a repository method declared to return a {@link ResourceIterator}. The rows are pulled from the query
+ * and converted one at a time while the caller iterates, so memory stays constant regardless of the result size.
+ * The transaction the query runs in and the underlying query result are released when the iterator is exhausted,
+ * on a failure or when it is closed by the caller, whichever comes first. Without a transaction only the query
+ * result is released, the joined transaction of the caller is left to its owner. An iterator that is still open
+ * when the joined transaction completes can't be read any further.
+ *
+ * @author mh
+ * @since 16.10.26
+ */
+class TransactionalResultIterator<T> implements ResourceIterator<T> {
+    private final EndResult<T> result;
+    private final Iterator<T> iterator;
+    private final Transaction tx;
+    private boolean closed;
+    private boolean expired;
+
+    /**
+     * @param tx the own transaction of the query, null if it joined the transaction of the caller
+     */
+    TransactionalResultIterator(EndResult<T> result, Transaction tx) {
+        this.result = result;
+        this.tx = tx;
+        this.iterator = result.iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (expired) throw new IllegalStateException("The result can't be read after the transaction it joined has completed");
+        if (closed) return false;
+        try {
+            if (iterator.hasNext()) return true;
+        } catch (RuntimeException e) {
+            fail();
+            throw e;
+        }
+        close();
+        return false;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        try {
+            return iterator.next();
+        } catch (RuntimeException e) {
+            fail();
+            throw e;
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        if (tx != null) tx.success();
+        release();
+    }
+
+    /**
+     * releases the result when the joined transaction completes before the iterator was exhausted or closed
+     */
+    void expire() {
+        if (closed) return;
+        expired = true;
+        release();
+    }
+
+    private void fail() {
+        if (closed) return;
+        if (tx != null) tx.failure();
+        release();
+    }
+
+    private void release() {
+        closed = true;
+        try {
+            if (iterator instanceof ResourceIterator) {
+                ((ResourceIterator) iterator).close();
+            }
+            result.finish();
+        } finally {
+            if (tx != null) tx.finish();
+        }
+    }
+}
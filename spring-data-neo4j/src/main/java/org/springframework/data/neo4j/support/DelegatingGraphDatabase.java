@@ -45,6 +45,7 @@ import org.springframework.util.ObjectUtils;
 import javax.transaction.Status;
 import javax.transaction.SystemException;
 import javax.transaction.TransactionManager;
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -122,6 +123,24 @@ public class DelegatingGraphDatabase implements GraphDatabase {
         }
     }
 
+    private void removeFromIndexes(Node node, Collection<String> indexNames) {
+        final IndexManager indexManager = delegate.index();
+        for (String indexName : indexNames) {
+            if (!indexManager.existsForNodes(indexName)) continue;
+            Index<Node> nodeIndex = indexManager.forNodes(indexName);
+            if (nodeIndex.isWriteable()) nodeIndex.remove(node);
+        }
+    }
+
+    private void removeFromIndexes(Relationship relationship, Collection<String> indexNames) {
+        final IndexManager indexManager = delegate.index();
+        for (String indexName : indexNames) {
+            if (!indexManager.existsForRelationships(indexName)) continue;
+            RelationshipIndex relationshipIndex = indexManager.forRelationships(indexName);
+            if (relationshipIndex.isWriteable()) relationshipIndex.remove(relationship);
+        }
+    }
+
     private void removeFromIndexes(Relationship relationship) {
         final IndexManager indexManager = delegate.index();
         for (String indexName : indexManager.relationshipIndexNames()) {
@@ -263,6 +282,18 @@ public class DelegatingGraphDatabase implements GraphDatabase {
        relationship.delete();
     }
 
+    @Override
+    public void remove(Node node, Collection<String> indexNames) {
+        removeFromIndexes(node, indexNames);
+        node.delete();
+    }
+
+    @Override
+    public void remove(Relationship relationship, Collection<String> indexNames) {
+        removeFromIndexes(relationship, indexNames);
+        relationship.delete();
+    }
+
     private ResultConverter createResultConverter() {
         if (resultConverter!=null) return resultConverter;
         if (conversionService != null) {
@@ -22,6 +22,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Iterator;
 
 /**
  * @author mh
@@ -37,7 +38,7 @@ public class GenericTypeExtractor {
     }
 
     public static Class<?> resolveConcreteType(Class<?> type, final Type genericType) {
-        if (Iterable.class.isAssignableFrom(type)) {
+        if (Iterable.class.isAssignableFrom(type) || Iterator.class.isAssignableFrom(type)) {
             if (genericType instanceof ParameterizedType) {
                 ParameterizedType returnType = (ParameterizedType) genericType;
                 Type componentType = returnType.getActualTypeArguments()[0];
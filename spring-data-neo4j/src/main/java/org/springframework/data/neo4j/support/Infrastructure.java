@@ -24,18 +24,21 @@ import org.springframework.data.neo4j.core.GraphDatabase;
 import org.springframework.data.neo4j.core.TypeRepresentationStrategy;
 import org.springframework.data.neo4j.mapping.EntityInstantiator;
 import org.springframework.data.neo4j.support.index.IndexProvider;
+import org.springframework.data.neo4j.support.index.IndexWriteBuffer;
 import org.springframework.data.neo4j.support.mapping.EntityRemover;
 import org.springframework.data.neo4j.support.mapping.EntityStateHandler;
 import org.springframework.data.neo4j.support.mapping.Neo4jEntityPersister;
 import org.springframework.data.neo4j.support.mapping.Neo4jMappingContext;
 import org.springframework.data.neo4j.support.node.EntityStateFactory;
 import org.springframework.data.neo4j.support.query.CypherQueryExecutor;
+import org.springframework.data.neo4j.support.query.PageCountExecutor;
 import org.springframework.data.neo4j.support.typerepresentation.TypeRepresentationStrategies;
 import org.springframework.data.neo4j.support.typerepresentation.TypeRepresentationStrategyFactory;
 import org.springframework.data.neo4j.support.typesafety.TypeSafetyPolicy;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.validation.Validator;
+import java.util.concurrent.Executor;
 
 /**
  * @author mh
@@ -71,4 +74,25 @@ public interface Infrastructure {
     TypeRepresentationStrategy<Relationship> getRelationshipTypeRepresentationStrategy();
 
     TypeSafetyPolicy getTypeSafetyPolicy();
+
+    /**
+     * @return the buffer for index writes of indexed properties, null if index entries are written immediately
+     */
+    IndexWriteBuffer getIndexWriteBuffer();
+
+    /**
+     * @return true if derived queries of the label based type representation strategy look up indexed properties with
+     * schema indexes instead of legacy indexes
+     */
+    boolean isSchemaIndexesEnabled();
+
+    /**
+     * @return the executor running count queries of paged repository queries concurrently, null if they run sequentially
+     */
+    PageCountExecutor getPageCountExecutor();
+
+    /**
+     * @return the executor for asynchronous operations, null if they are not supported
+     */
+    Executor getAsyncExecutor();
 }
@@ -24,18 +24,21 @@ import org.springframework.data.neo4j.core.GraphDatabase;
 import org.springframework.data.neo4j.core.TypeRepresentationStrategy;
 import org.springframework.data.neo4j.mapping.EntityInstantiator;
 import org.springframework.data.neo4j.support.index.IndexProvider;
+import org.springframework.data.neo4j.support.index.IndexWriteBuffer;
 import org.springframework.data.neo4j.support.mapping.EntityRemover;
 import org.springframework.data.neo4j.support.mapping.EntityStateHandler;
 import org.springframework.data.neo4j.support.mapping.Neo4jEntityPersister;
 import org.springframework.data.neo4j.support.mapping.Neo4jMappingContext;
 import org.springframework.data.neo4j.support.node.EntityStateFactory;
 import org.springframework.data.neo4j.support.query.CypherQueryExecutor;
+import org.springframework.data.neo4j.support.query.PageCountExecutor;
 import org.springframework.data.neo4j.support.typerepresentation.TypeRepresentationStrategies;
 import org.springframework.data.neo4j.support.typerepresentation.TypeRepresentationStrategyFactory;
 import org.springframework.data.neo4j.support.typesafety.TypeSafetyPolicy;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.validation.Validator;
+import java.util.concurrent.Executor;
 
 /**
  * @author mh
@@ -61,8 +64,12 @@ public class MappingInfrastructure implements Infrastructure {
     private final GraphDatabaseService graphDatabaseService;
     private final GraphDatabase graphDatabase;
     private final TypeSafetyPolicy typeSafetyPolicy;
+    private final IndexWriteBuffer indexWriteBuffer;
+    private final boolean schemaIndexesEnabled;
+    private final PageCountExecutor pageCountExecutor;
+    private final Executor asyncExecutor;
 
-    public MappingInfrastructure(GraphDatabase graphDatabase, GraphDatabaseService graphDatabaseService, IndexProvider indexProvider, ResultConverter resultConverter, PlatformTransactionManager transactionManager, TypeRepresentationStrategies typeRepresentationStrategies, EntityRemover entityRemover, Neo4jEntityPersister entityPersister, EntityStateHandler entityStateHandler, CypherQueryExecutor cypherQueryExecutor, Neo4jMappingContext mappingContext, TypeRepresentationStrategy<Relationship> relationshipTypeRepresentationStrategy, TypeRepresentationStrategy<Node> nodeTypeRepresentationStrategy, Validator validator, ConversionService conversionService, TypeSafetyPolicy typeSafetyPolicy) {
+    public MappingInfrastructure(GraphDatabase graphDatabase, GraphDatabaseService graphDatabaseService, IndexProvider indexProvider, ResultConverter resultConverter, PlatformTransactionManager transactionManager, TypeRepresentationStrategies typeRepresentationStrategies, EntityRemover entityRemover, Neo4jEntityPersister entityPersister, EntityStateHandler entityStateHandler, CypherQueryExecutor cypherQueryExecutor, Neo4jMappingContext mappingContext, TypeRepresentationStrategy<Relationship> relationshipTypeRepresentationStrategy, TypeRepresentationStrategy<Node> nodeTypeRepresentationStrategy, Validator validator, ConversionService conversionService, TypeSafetyPolicy typeSafetyPolicy, IndexWriteBuffer indexWriteBuffer, boolean schemaIndexesEnabled, PageCountExecutor pageCountExecutor, Executor asyncExecutor) {
         this.graphDatabase = graphDatabase;
         this.graphDatabaseService = graphDatabaseService;
         this.indexProvider = indexProvider;
@@ -79,6 +86,10 @@ public class MappingInfrastructure implements Infrastructure {
         this.validator = validator;
         this.conversionService = conversionService;
         this.typeSafetyPolicy = typeSafetyPolicy;
+        this.indexWriteBuffer = indexWriteBuffer;
+        this.schemaIndexesEnabled = schemaIndexesEnabled;
+        this.pageCountExecutor = pageCountExecutor;
+        this.asyncExecutor = asyncExecutor;
     }
 
     @Override
@@ -155,4 +166,24 @@ public class MappingInfrastructure implements Infrastructure {
     public TypeSafetyPolicy getTypeSafetyPolicy() {
         return typeSafetyPolicy;
     }
+
+    @Override
+    public IndexWriteBuffer getIndexWriteBuffer() {
+        return indexWriteBuffer;
+    }
+
+    @Override
+    public boolean isSchemaIndexesEnabled() {
+        return schemaIndexesEnabled;
+    }
+
+    @Override
+    public PageCountExecutor getPageCountExecutor() {
+        return pageCountExecutor;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
 }
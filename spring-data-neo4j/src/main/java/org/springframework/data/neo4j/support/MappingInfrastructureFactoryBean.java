@@ -33,15 +33,20 @@ import org.springframework.data.neo4j.mapping.EntityInstantiator;
 import org.springframework.data.neo4j.support.conversion.EntityResultConverter;
 import org.springframework.data.neo4j.support.index.IndexProvider;
 import org.springframework.data.neo4j.support.index.IndexProviderImpl;
+import org.springframework.data.neo4j.support.index.IndexWriteBuffer;
 import org.springframework.data.neo4j.support.mapping.EntityRemover;
+import org.springframework.data.neo4j.support.mapping.EntitySnapshotCache;
+import org.springframework.data.neo4j.support.mapping.EntitySnapshots;
 import org.springframework.data.neo4j.support.mapping.EntityStateHandler;
 import org.springframework.data.neo4j.support.mapping.EntityTools;
 import org.springframework.data.neo4j.support.mapping.Neo4jEntityPersister;
 import org.springframework.data.neo4j.support.mapping.Neo4jMappingContext;
+import org.springframework.data.neo4j.support.mapping.TransactionScopedEntityCache;
 import org.springframework.data.neo4j.support.node.EntityStateFactory;
 import org.springframework.data.neo4j.support.node.NodeEntityInstantiator;
 import org.springframework.data.neo4j.support.node.NodeEntityStateFactory;
 import org.springframework.data.neo4j.support.query.CypherQueryExecutor;
+import org.springframework.data.neo4j.support.query.PageCountExecutor;
 import org.springframework.data.neo4j.support.relationship.RelationshipEntityInstantiator;
 import org.springframework.data.neo4j.support.relationship.RelationshipEntityStateFactory;
 import org.springframework.data.neo4j.support.typerepresentation.TypeRepresentationStrategies;
@@ -52,6 +57,7 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.jta.JtaTransactionManager;
 
 import javax.validation.Validator;
+import java.util.concurrent.Executor;
 
 /**
  * @author mh
@@ -81,6 +87,14 @@ public class MappingInfrastructureFactoryBean implements FactoryBean<Infrastruct
     private GraphDatabase graphDatabase;
     private IsNewStrategyFactory isNewStrategyFactory;
     private TypeSafetyPolicy typeSafetyPolicy;
+    private boolean entityCacheEnabled;
+    private EntitySnapshotCache snapshotCache;
+    private boolean dirtyCheckingEnabled;
+    private boolean bufferedIndexWritesEnabled;
+    private boolean removeFromEntityIndexesOnly;
+    private boolean schemaIndexesEnabled;
+    private PageCountExecutor pageCountExecutor;
+    private Executor asyncExecutor;
 
     private MappingInfrastructure mappingInfrastructure;
     private TypeRepresentationStrategyFactory.Strategy typeRepresentationStrategy;
@@ -148,8 +162,22 @@ public class MappingInfrastructureFactoryBean implements FactoryBean<Infrastruct
         final EntityStateHandler entityStateHandler = new EntityStateHandler(mappingContext, graphDatabase);
         EntityTools<Node> nodeEntityTools = new EntityTools<Node>(nodeTypeRepresentationStrategy, nodeEntityStateFactory, nodeEntityInstantiator, mappingContext);
         EntityTools<Relationship> relationshipEntityTools = new EntityTools<Relationship>(relationshipTypeRepresentationStrategy, relationshipEntityStateFactory, relationshipEntityInstantiator, mappingContext);
-        this.entityPersister = new Neo4jEntityPersister(conversionService, nodeEntityTools, relationshipEntityTools, mappingContext, entityStateHandler);
-        this.entityRemover = new EntityRemover(this.entityStateHandler, nodeTypeRepresentationStrategy, relationshipTypeRepresentationStrategy, graphDatabase);
+        final TransactionScopedEntityCache entityCache = new TransactionScopedEntityCache(entityCacheEnabled);
+        this.entityPersister = new Neo4jEntityPersister(conversionService, nodeEntityTools, relationshipEntityTools, mappingContext, entityStateHandler, entityCache);
+        this.entityRemover = new EntityRemover(this.entityStateHandler, nodeTypeRepresentationStrategy, relationshipTypeRepresentationStrategy, graphDatabase, entityCache);
+        if (this.dirtyCheckingEnabled) {
+            final EntitySnapshots entitySnapshots = new EntitySnapshots();
+            nodeEntityTools.getSourceStateTransmitter().setEntitySnapshots(entitySnapshots);
+            relationshipEntityTools.getSourceStateTransmitter().setEntitySnapshots(entitySnapshots);
+        }
+        if (this.snapshotCache != null) {
+            nodeEntityTools.getSourceStateTransmitter().setSnapshotCache(snapshotCache);
+            relationshipEntityTools.getSourceStateTransmitter().setSnapshotCache(snapshotCache);
+            this.entityPersister.setSnapshotCache(snapshotCache);
+            this.entityRemover.setSnapshotCache(snapshotCache);
+        }
+        final IndexWriteBuffer indexWriteBuffer = bufferedIndexWritesEnabled ? new IndexWriteBuffer() : null;
+        this.entityRemover.setIndexWriteBuffer(indexWriteBuffer);
         if (this.resultConverter == null) {
             this.resultConverter = new EntityResultConverter<Object, Object>(conversionService);
         }
@@ -158,10 +186,13 @@ public class MappingInfrastructureFactoryBean implements FactoryBean<Infrastruct
         if (this.indexProvider == null) {
             this.indexProvider = new IndexProviderImpl(graphDatabase);
         }
+        if (this.removeFromEntityIndexesOnly) {
+            this.entityRemover.setEntityIndexes(indexProvider, mappingContext);
+        }
         if (this.typeSafetyPolicy == null) {
             this.typeSafetyPolicy = new TypeSafetyPolicy();
         }
-        this.mappingInfrastructure = new MappingInfrastructure(graphDatabase, graphDatabaseService, indexProvider, resultConverter, transactionManager, typeRepresentationStrategies, entityRemover, entityPersister, entityStateHandler, cypherQueryExecutor, mappingContext, relationshipTypeRepresentationStrategy, nodeTypeRepresentationStrategy, validator, conversionService, typeSafetyPolicy);
+        this.mappingInfrastructure = new MappingInfrastructure(graphDatabase, graphDatabaseService, indexProvider, resultConverter, transactionManager, typeRepresentationStrategies, entityRemover, entityPersister, entityStateHandler, cypherQueryExecutor, mappingContext, relationshipTypeRepresentationStrategy, nodeTypeRepresentationStrategy, validator, conversionService, typeSafetyPolicy, indexWriteBuffer, schemaIndexesEnabled, pageCountExecutor, asyncExecutor);
         } catch (Exception e) {
             throw new RuntimeException("error initializing "+getClass().getName(),e);
         }
@@ -309,6 +340,108 @@ public class MappingInfrastructureFactoryBean implements FactoryBean<Infrastruct
         return typeSafetyPolicy;
     }
 
+    /**
+     * @param entityCacheEnabled if true, entities loaded within a spring managed transaction are held in a transaction scoped
+     * identity map, so that subsequent reads of the same node or relationship return the same instance without re-mapping
+     */
+    public void setEntityCacheEnabled(boolean entityCacheEnabled) {
+        this.entityCacheEnabled = entityCacheEnabled;
+    }
+
+    public boolean isEntityCacheEnabled() {
+        return entityCacheEnabled;
+    }
+
+    /**
+     * @param snapshotCache optional second level cache of entity property values shared across transactions
+     */
+    public void setSnapshotCache(EntitySnapshotCache snapshotCache) {
+        this.snapshotCache = snapshotCache;
+    }
+
+    public EntitySnapshotCache getSnapshotCache() {
+        return snapshotCache;
+    }
+
+    /**
+     * @param dirtyCheckingEnabled if true, the values of loaded entities are remembered and saving an entity only writes the
+     * properties, index entries and relationships that were changed since it was loaded or last saved
+     */
+    public void setDirtyCheckingEnabled(boolean dirtyCheckingEnabled) {
+        this.dirtyCheckingEnabled = dirtyCheckingEnabled;
+    }
+
+    public boolean isDirtyCheckingEnabled() {
+        return dirtyCheckingEnabled;
+    }
+
+    /**
+     * @param bufferedIndexWritesEnabled if true, index entries of indexed properties written within a spring managed
+     * transaction are collected and applied per index before commit. Index lookups, queries and index handles obtained
+     * through the template flush the buffer first, other index reads in the same transaction only see the entries
+     * after commit, see {@link org.springframework.data.neo4j.template.Neo4jOperations#getIndex(String, Class)}.
+     * Unique properties are always indexed immediately.
+     */
+    public void setBufferedIndexWritesEnabled(boolean bufferedIndexWritesEnabled) {
+        this.bufferedIndexWritesEnabled = bufferedIndexWritesEnabled;
+    }
+
+    public boolean isBufferedIndexWritesEnabled() {
+        return bufferedIndexWritesEnabled;
+    }
+
+    /**
+     * @param removeFromEntityIndexesOnly if true, deleted entities are only removed from the indexes of their indexed
+     * properties instead of from every index in the database. Use it only if nodes and relationships of entities are
+     * not added to other indexes manually.
+     */
+    public void setRemoveFromEntityIndexesOnly(boolean removeFromEntityIndexesOnly) {
+        this.removeFromEntityIndexesOnly = removeFromEntityIndexesOnly;
+    }
+
+    public boolean isRemoveFromEntityIndexesOnly() {
+        return removeFromEntityIndexesOnly;
+    }
+
+    /**
+     * @param schemaIndexesEnabled if true and the label based type representation strategy is used, derived finders
+     * match exact lookups of indexed properties with {@code MATCH (n:Label) WHERE n.prop = {p}} so that schema indexes
+     * are used. The schema indexes and uniqueness constraints are created by the
+     * {@link org.springframework.data.neo4j.support.mapping.IndexCreationMappingEventListener}.
+     */
+    public void setSchemaIndexesEnabled(boolean schemaIndexesEnabled) {
+        this.schemaIndexesEnabled = schemaIndexesEnabled;
+    }
+
+    public boolean isSchemaIndexesEnabled() {
+        return schemaIndexesEnabled;
+    }
+
+    /**
+     * @param pageCountExecutor optional executor for the count queries of paged repository queries, which then run
+     * concurrently with the content query in their own transaction
+     */
+    public void setPageCountExecutor(PageCountExecutor pageCountExecutor) {
+        this.pageCountExecutor = pageCountExecutor;
+    }
+
+    public PageCountExecutor getPageCountExecutor() {
+        return pageCountExecutor;
+    }
+
+    /**
+     * @param asyncExecutor executor for the asynchronous template operations and repository methods returning a
+     * {@link java.util.concurrent.Future}, each of them runs in its own transaction. It should be bounded, e.g. a
+     * ThreadPoolTaskExecutor with a fixed pool size and queue capacity.
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
     @Override
     public Infrastructure getObject() {
         return mappingInfrastructure;
@@ -53,6 +53,7 @@ import org.springframework.data.neo4j.repository.RelationshipGraphRepository;
 import org.springframework.data.neo4j.support.conversion.EntityResultConverter;
 import org.springframework.data.neo4j.support.index.IndexProvider;
 import org.springframework.data.neo4j.support.index.IndexType;
+import org.springframework.data.neo4j.support.index.IndexWriteBuffer;
 import org.springframework.data.neo4j.support.mapping.*;
 import org.springframework.data.neo4j.support.query.QueryEngine;
 import org.springframework.data.neo4j.template.GraphCallback;
@@ -65,8 +66,15 @@ import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.validation.Validator;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import static org.springframework.data.neo4j.support.ParameterCheck.notNull;
 
@@ -310,6 +318,70 @@ public class Neo4jTemplate implements Neo4jOperations, ApplicationContextAware {
         return t;
     }
 
+    @Override
+    public <T> Iterable<T> save(Iterable<T> entities, int batchSize) {
+        notNull(entities, "entities");
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be greater than zero");
+        final List<T> saved = new ArrayList<T>();
+        final List<T> batch = new ArrayList<T>(Math.min(batchSize, 1000));
+        for (T entity : entities) {
+            batch.add(entity);
+            if (batch.size() == batchSize) {
+                saved.addAll(saveBatch(batch));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) saved.addAll(saveBatch(batch));
+        return saved;
+    }
+
+    /**
+     * saves the entities of a batch grouped by type (node entities first) within a single transaction,
+     * the mapping policy is resolved once per type and the saved entities are not re-read
+     *
+     * @return the saved entities in the order of the batch
+     */
+    private <T> List<T> saveBatch(final List<T> batch) {
+        final Map<Class<?>, List<Integer>> nodeEntities = new LinkedHashMap<Class<?>, List<Integer>>();
+        final Map<Class<?>, List<Integer>> relationshipEntities = new LinkedHashMap<Class<?>, List<Integer>>();
+        for (int i = 0; i < batch.size(); i++) {
+            final T entity = batch.get(i);
+            notNull(entity, "entity");
+            final Class<?> type = entity.getClass();
+            final Map<Class<?>, List<Integer>> group = isRelationshipEntity(type) ? relationshipEntities : nodeEntities;
+            List<Integer> entitiesOfType = group.get(type);
+            if (entitiesOfType == null) {
+                entitiesOfType = new ArrayList<Integer>();
+                group.put(type, entitiesOfType);
+            }
+            entitiesOfType.add(i);
+        }
+        final List<T> saved = new ArrayList<T>(batch);
+        exec(new GraphCallback.WithoutResult() {
+            @Override
+            public void doWithGraphWithoutResult(GraphDatabase graph) throws Exception {
+                saveGrouped(nodeEntities, saved);
+                saveGrouped(relationshipEntities, saved);
+            }
+        });
+        return saved;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void saveGrouped(Map<Class<?>, List<Integer>> entitiesByType, List<T> entities) {
+        final Neo4jEntityPersister entityPersister = infrastructure.getEntityPersister();
+        for (Map.Entry<Class<?>, List<Integer>> entry : entitiesByType.entrySet()) {
+            final MappingPolicy mappingPolicy = getMappingPolicy(entry.getKey());
+            for (Integer index : entry.getValue()) {
+                final T entity = entities.get(index);
+                if (applicationContext != null) applicationContext.publishEvent(new BeforeSaveEvent<T>(this, entity));
+                final T saved = (T) entityPersister.persist(entity, mappingPolicy, this, null, false);
+                entities.set(index, saved);
+                if (applicationContext != null) applicationContext.publishEvent(new AfterSaveEvent<T>(this, entity));
+            }
+        }
+    }
+
     public boolean isManaged(Object entity) {
         return infrastructure.getEntityStateHandler().isManaged(entity);
     }
@@ -424,6 +496,62 @@ public class Neo4jTemplate implements Neo4jOperations, ApplicationContextAware {
         });
     }
 
+    @Override
+    public <T> Future<T> execAsync(final GraphCallback<T> callback) {
+        notNull(callback, "callback");
+        final Executor executor = infrastructure.getAsyncExecutor();
+        if (executor == null) throw new IllegalStateException("No executor for asynchronous operations configured, see MappingInfrastructureFactoryBean#setAsyncExecutor");
+        final FutureTask<T> task = new FutureTask<T>(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                return exec(callback);
+            }
+        });
+        executor.execute(task);
+        return task;
+    }
+
+    @Override
+    public <T> Future<T> findOneAsync(final long id, final Class<T> entityClass) {
+        return execAsync(new GraphCallback<T>() {
+            @Override
+            public T doWithGraph(GraphDatabase graph) throws Exception {
+                return findOne(id, entityClass);
+            }
+        });
+    }
+
+    @Override
+    public <T> Future<T> saveAsync(final T entity) {
+        notNull(entity, "entity");
+        return execAsync(new GraphCallback<T>() {
+            @Override
+            public T doWithGraph(GraphDatabase graph) throws Exception {
+                return save(entity);
+            }
+        });
+    }
+
+    @Override
+    public Future<List<Map<String, Object>>> queryAsync(final String statement, final Map<String, Object> params) {
+        notNull(statement, "statement");
+        return execAsync(new GraphCallback<List<Map<String, Object>>>() {
+            @Override
+            public List<Map<String, Object>> doWithGraph(GraphDatabase graph) throws Exception {
+                final List<Map<String, Object>> rows = new ArrayList<Map<String, Object>>();
+                final Result<Map<String, Object>> result = query(statement, params);
+                try {
+                    for (Map<String, Object> row : result) {
+                        rows.add(row);
+                    }
+                } finally {
+                    result.finish();
+                }
+                return rows;
+            }
+        });
+    }
+
     @Override
     public Node getReferenceNode() {
         try {
@@ -525,6 +653,7 @@ public class Neo4jTemplate implements Neo4jOperations, ApplicationContextAware {
 
     @Override
     public <T> QueryEngine<T> queryEngineFor(QueryType type) {
+        flushIndexWrites();
         return infrastructure.getGraphDatabase().queryEngineFor(type, getDefaultConverter());
     }
 
@@ -563,6 +692,7 @@ public class Neo4jTemplate implements Neo4jOperations, ApplicationContextAware {
         notNull(field, "field", value, "value", indexName, "index name");
         try {
             Index<T> index = getIndex(indexName, null);
+            flushIndexWrites();
             return convert(index.get(field, value));
         } catch (RuntimeException e) {
             throw translateExceptionIfPossible(e);
@@ -575,6 +705,7 @@ public class Neo4jTemplate implements Neo4jOperations, ApplicationContextAware {
         try {
 
             final Index<T> index = getIndex(indexedType, propertyName);
+            flushIndexWrites();
             return convert(index.query(propertyName, value));
         } catch (RuntimeException e) {
             throw translateExceptionIfPossible(e);
@@ -584,12 +715,14 @@ public class Neo4jTemplate implements Neo4jOperations, ApplicationContextAware {
     @Override
     public <T extends PropertyContainer> Index<T> getIndex(String indexName, Class<?> indexedType) {
         final Neo4jPersistentEntityImpl<?> persistentEntity = indexedType==null ? null : getPersistentEntity(indexedType);
+        flushIndexWrites();
         return getIndexProvider().getIndex(persistentEntity, indexName);
     }
 
     @Override
     public <T extends PropertyContainer> Index<T> getIndex(Class<?> indexedType, String propertyName) {
         final Neo4jPersistentProperty property = getPersistentProperty(indexedType, propertyName);
+        flushIndexWrites();
         if (property == null) return getIndexProvider().getIndex(getPersistentEntity(indexedType), null);
         return getIndexProvider().getIndex(property, indexedType);
     }
@@ -606,6 +739,11 @@ public class Neo4jTemplate implements Neo4jOperations, ApplicationContextAware {
         return infrastructure.getIndexProvider();
     }
 
+    private void flushIndexWrites() {
+        final IndexWriteBuffer indexWriteBuffer = infrastructure.getIndexWriteBuffer();
+        if (indexWriteBuffer != null) indexWriteBuffer.flush();
+    }
+
     private Neo4jPersistentEntityImpl<?> getPersistentEntity(Class<?> type) {
         return getMappingContext().getPersistentEntity(type);
     }
@@ -615,6 +753,7 @@ public class Neo4jTemplate implements Neo4jOperations, ApplicationContextAware {
         notNull(query, "valueOrQueryObject", indexName, "indexName");
         try {
             Index<T> index = getIndex(indexName, null);
+            flushIndexWrites();
             return convert(index.query(query));
         } catch (RuntimeException e) {
             throw translateExceptionIfPossible(e);
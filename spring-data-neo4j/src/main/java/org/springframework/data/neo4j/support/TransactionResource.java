@@ -0,0 +1,84 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Value bound to the current spring managed transaction. It is created on first use, bound as transactional resource
+ * keyed by this instance and unbound after completion of the transaction. Subclasses create the value and can hook
+ * into the completion of the transaction. Outside of a synchronized transaction there is no value.
+ *
+ * @author mh
+ * @since 16.10.26
+ */
+public abstract class TransactionResource<T> {
+
+    /**
+     * @return the value bound to the current transaction, null if there is none yet or no synchronized transaction
+     */
+    @SuppressWarnings("unchecked")
+    public T get() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return null;
+        return (T) TransactionSynchronizationManager.getResource(this);
+    }
+
+    /**
+     * @return the value bound to the current transaction, which is created and bound on first use, null if there is
+     * no synchronized transaction
+     */
+    public T getOrCreate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return null;
+        final T existing = get();
+        if (existing != null) return existing;
+        final T value = create();
+        TransactionSynchronizationManager.bindResource(this, value);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                TransactionResource.this.beforeCommit(value, readOnly);
+            }
+
+            @Override
+            public void afterCommit() {
+                TransactionResource.this.afterCommit(value);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TransactionResource.this);
+                TransactionResource.this.afterCompletion(value, status == TransactionSynchronization.STATUS_COMMITTED);
+            }
+        });
+        return value;
+    }
+
+    protected abstract T create();
+
+    protected void beforeCommit(T value, boolean readOnly) {
+    }
+
+    protected void afterCommit(T value) {
+    }
+
+    /**
+     * called after the value has been unbound
+     */
+    protected void afterCompletion(T value, boolean committed) {
+    }
+}
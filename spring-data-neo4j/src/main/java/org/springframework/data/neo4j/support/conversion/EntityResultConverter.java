@@ -16,26 +16,21 @@
 
 package org.springframework.data.neo4j.support.conversion;
 
-import org.neo4j.helpers.collection.IteratorUtil;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.data.neo4j.annotation.MapResult;
 import org.springframework.data.neo4j.annotation.QueryResult;
-import org.springframework.data.neo4j.annotation.ResultColumn;
 import org.springframework.data.neo4j.conversion.DefaultConverter;
-import org.springframework.data.neo4j.conversion.QueryResultBuilder;
 import org.springframework.data.neo4j.core.EntityPath;
 import org.springframework.data.neo4j.mapping.MappingPolicy;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
 import org.springframework.data.neo4j.support.Neo4jTemplateAware;
 import org.springframework.data.neo4j.support.path.ConvertingEntityPath;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Proxy;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author mh
@@ -44,6 +39,9 @@ import java.util.Map;
 public class EntityResultConverter<T, R> extends DefaultConverter<T, R> implements Neo4jTemplateAware<EntityResultConverter<T,R>> {
     private final ConversionService conversionService;
     private Neo4jTemplate template;
+    private final ConcurrentMap<Class<?>, QueryResultMapper> resultMappers = new ConcurrentHashMap<Class<?>, QueryResultMapper>();
+    private final Set<Class<?>> typesWithoutResultMapper = Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+    private final ScalaIterableTypes scalaIterableTypes = new ScalaIterableTypes();
 
     public EntityResultConverter(ConversionService conversionService) {
         this.conversionService = conversionService;
@@ -88,60 +86,11 @@ public class EntityResultConverter<T, R> extends DefaultConverter<T, R> implemen
 
     @SuppressWarnings("unchecked")
     public R extractPOJOResult(Object value, Class returnType, MappingPolicy mappingPolicy) {
-        String errorMessage = "Error extracting and setting value for POJO Result : " + returnType;
         if (!Map.class.isAssignableFrom(value.getClass())) {
             throw new RuntimeException("QueryResult can only be extracted from Map<String,Object>.");
         }
-
-        Object newThing = null;
-        ResultColumnValueExtractor resultColumnValueExtractor = new ResultColumnValueExtractor((Map<String, Object>) value,mappingPolicy,this);
-        try {
-            newThing = returnType.newInstance();
-            BeanWrapper wrapper = new BeanWrapperImpl( newThing );
-            for (Field field: returnType.getDeclaredFields()) {
-                extractAndSetValueOfField(wrapper, field, resultColumnValueExtractor);
-            }
-        } catch (IllegalAccessException e1) {
-            throw new POJOResultBuildingException(errorMessage, e1);
-        } catch (InstantiationException e2) {
-            throw new POJOResultBuildingException(errorMessage, e2);
-        } catch (InvocationTargetException e3) {
-            throw new POJOResultBuildingException(errorMessage, e3);
-        } catch (NoSuchMethodException e4) {
-            throw new POJOResultBuildingException(errorMessage, e4);
-        } catch (ClassNotFoundException e5) {
-            throw new POJOResultBuildingException(errorMessage, e5);
-        }
-
-        return (R) newThing;
-    }
-
-    private void extractAndSetValueOfField(BeanWrapper wrapper, Field field,
-                                           ResultColumnValueExtractor resultColumnValueExtractor)
-        throws InvocationTargetException , NoSuchMethodException , ClassNotFoundException , IllegalAccessException{
-        if (!isPOJOMappableField(field))
-            return;
-
-        Object val = resultColumnValueExtractor.extractFromField(field);
-        if (val != null) {
-            if (val.getClass().getEnclosingClass() != null &&
-                val.getClass().getEnclosingClass().equals(QueryResultBuilder.class)) {
-                val = IteratorUtil.asCollection((Iterable) val);
-            }
-            wrapper.setPropertyValue( field.getName(), val );
-        }
-
-    }
-
-    /**
-     * At present, the only fields which can be mapped to a POJO are those
-     * annotated with the ResultColumn annotation
-     *
-     * @param field
-     * @return
-     */
-    private boolean isPOJOMappableField(Field field) {
-        return field.getAnnotation(ResultColumn.class) != null;
+        final QueryResultMapper mapper = mapperFor(returnType);
+        return (R) (mapper != null ? mapper : QueryResultMapper.forClass(returnType)).map((Map<String, Object>) value, mappingPolicy, this, scalaIterableTypes);
     }
 
     @SuppressWarnings("unchecked")
@@ -149,20 +98,41 @@ public class EntityResultConverter<T, R> extends DefaultConverter<T, R> implemen
         if (!Map.class.isAssignableFrom(value.getClass())) {
             throw new RuntimeException("MapResult can only be extracted from Map<String,Object>.");
         }
+        final QueryResultMapper mapper = mapperFor(returnType);
+        return (R) (mapper != null ? mapper : QueryResultMapper.forInterface(returnType)).map((Map<String, Object>) value, mappingPolicy, this, scalaIterableTypes);
+    }
 
-        InvocationHandler handler = new QueryResultProxy((Map<String, Object>) value,mappingPolicy,this);
+    /**
+     * @return the mapper for the query result type, null if the type is no query result type
+     */
+    private QueryResultMapper mapperFor(Class<?> type) {
+        if (typesWithoutResultMapper.contains(type)) return null;
+        final QueryResultMapper mapper = resultMappers.get(type);
+        if (mapper != null) return mapper;
+        final QueryResultMapper newMapper = createMapper(type);
+        if (newMapper == null) {
+            typesWithoutResultMapper.add(type);
+            return null;
+        }
+        final QueryResultMapper existing = resultMappers.putIfAbsent(type, newMapper);
+        return existing != null ? existing : newMapper;
+    }
 
-        return (R) Proxy.newProxyInstance(returnType.getClassLoader(), new Class[]{returnType}, handler);
+    private QueryResultMapper createMapper(Class<?> type) {
+        if (isInterfaceBasedMappingRequest(type)) return QueryResultMapper.forInterface(type);
+        if (isPojoBasedMappingReqest(type)) return QueryResultMapper.forClass(type);
+        return null;
     }
 
     @Override
     public R convert(Object value, Class type, MappingPolicy mappingPolicy) {
-        if (isInterfaceBasedMappingRequest(type)) {
-            return extractProxyBasedResult(value, type, mappingPolicy);
-        } else if (isPojoBasedMappingReqest(type)) {
-            return extractPOJOResult(value, type,mappingPolicy);
-        } else
+        if (mapperFor(type) == null) {
             return super.convert(value, type,mappingPolicy);
+        }
+        if (type.isInterface()) {
+            return extractProxyBasedResult(value, type, mappingPolicy);
+        }
+        return extractPOJOResult(value, type, mappingPolicy);
     }
 
     boolean isInterfaceBasedMappingRequest(Class type) {
@@ -0,0 +1,194 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.conversion;
+
+import org.neo4j.helpers.collection.IteratorUtil;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.mapping.model.MappingException;
+import org.springframework.data.neo4j.annotation.ResultColumn;
+import org.springframework.data.neo4j.conversion.ResultConverter;
+import org.springframework.data.neo4j.mapping.MappingPolicy;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps query result rows to a {@link org.springframework.data.neo4j.annotation.QueryResult} class or to a
+ * {@link org.springframework.data.neo4j.annotation.QueryResult} or {@link org.springframework.data.neo4j.annotation.MapResult}
+ * interface. The result columns, their types and the property setters are resolved once per result type, so mapping
+ * a row only extracts and converts the column values.
+ *
+ * @author mh
+ * @since 16.10.26
+ */
+abstract class QueryResultMapper {
+
+    static class Column {
+        private final String name;
+        private final TypeInformation<?> type;
+        private final boolean collectionLike;
+
+        Column(String name, TypeInformation<?> type) {
+            this.name = name;
+            this.type = type;
+            this.collectionLike = type.isCollectionLike();
+        }
+
+        Object extract(ResultColumnValueExtractor extractor) throws ClassNotFoundException, NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+            return extractor.extractColumn(name, type);
+        }
+    }
+
+    abstract Object map(Map<String, Object> row, MappingPolicy mappingPolicy, ResultConverter converter, ScalaIterableTypes scalaIterableTypes);
+
+    static QueryResultMapper forInterface(Class<?> type) {
+        return new ProxyMapper(type);
+    }
+
+    static QueryResultMapper forClass(Class<?> type) {
+        return new PojoMapper(type);
+    }
+
+    private static class ProxyMapper extends QueryResultMapper {
+        private final Class<?> type;
+        private final Constructor<?> proxyConstructor;
+        private final Map<Method, Column> columns = new HashMap<Method, Column>();
+
+        ProxyMapper(Class<?> type) {
+            this.type = type;
+            try {
+                this.proxyConstructor = Proxy.getProxyClass(type.getClassLoader(), type).getConstructor(InvocationHandler.class);
+            } catch (NoSuchMethodException e) {
+                throw new MappingException("Error creating proxy class for query result " + type, e);
+            }
+            for (Method method : type.getMethods()) {
+                final ResultColumn column = method.getAnnotation(ResultColumn.class);
+                if (column == null) continue;
+                columns.put(method, new Column(column.value(), ClassTypeInformation.fromReturnTypeOf(method)));
+            }
+        }
+
+        @Override
+        Object map(Map<String, Object> row, MappingPolicy mappingPolicy, ResultConverter converter, ScalaIterableTypes scalaIterableTypes) {
+            try {
+                return proxyConstructor.newInstance(new QueryResultProxy(row, mappingPolicy, converter, columns, scalaIterableTypes));
+            } catch (InstantiationException e) {
+                throw new MappingException("Error creating proxy for query result " + type, e);
+            } catch (IllegalAccessException e) {
+                throw new MappingException("Error creating proxy for query result " + type, e);
+            } catch (InvocationTargetException e) {
+                throw new MappingException("Error creating proxy for query result " + type, e.getTargetException());
+            }
+        }
+    }
+
+    private static class PojoMapper extends QueryResultMapper {
+
+        private static class Property {
+            private final String name;
+            private final Column column;
+            private final Method setter;
+            private final Class<?> valueType;
+
+            Property(String name, Column column, Method setter) {
+                this.name = name;
+                this.column = column;
+                this.setter = setter;
+                this.valueType = setter == null ? null : ClassUtils.resolvePrimitiveIfNecessary(setter.getParameterTypes()[0]);
+            }
+        }
+
+        private final Class<?> type;
+        private final Constructor<?> constructor;
+        private final List<Property> properties;
+
+        PojoMapper(Class<?> type) {
+            this.type = type;
+            try {
+                this.constructor = type.getDeclaredConstructor();
+            } catch (NoSuchMethodException e) {
+                throw new POJOResultBuildingException(errorMessage(), e);
+            }
+            ReflectionUtils.makeAccessible(constructor);
+            final TypeInformation<?> classInfo = ClassTypeInformation.from(type);
+            final List<Property> properties = new ArrayList<Property>();
+            // only the fields annotated with @ResultColumn are mapped
+            for (Field field : type.getDeclaredFields()) {
+                final ResultColumn column = field.getAnnotation(ResultColumn.class);
+                if (column == null) continue;
+                final PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, field.getName());
+                final Method setter = descriptor == null ? null : descriptor.getWriteMethod();
+                if (setter != null) ReflectionUtils.makeAccessible(setter);
+                properties.add(new Property(field.getName(), new Column(column.value(), classInfo.getProperty(field.getName())), setter));
+            }
+            this.properties = Collections.unmodifiableList(properties);
+        }
+
+        private String errorMessage() {
+            return "Error extracting and setting value for POJO Result : " + type;
+        }
+
+        @Override
+        Object map(Map<String, Object> row, MappingPolicy mappingPolicy, ResultConverter converter, ScalaIterableTypes scalaIterableTypes) {
+            try {
+                final Object result = constructor.newInstance();
+                final ResultColumnValueExtractor extractor = new ResultColumnValueExtractor(row, mappingPolicy, converter, scalaIterableTypes);
+                BeanWrapper wrapper = null;
+                for (Property property : properties) {
+                    Object value = property.column.extract(extractor);
+                    if (value == null) continue;
+                    if (property.column.collectionLike && value instanceof Iterable) {
+                        value = IteratorUtil.asCollection((Iterable<?>) value);
+                    }
+                    if (property.setter != null && property.valueType.isInstance(value)) {
+                        property.setter.invoke(result, value);
+                    } else {
+                        // values that need conversion or properties without setter are handled as before
+                        if (wrapper == null) wrapper = new BeanWrapperImpl(result);
+                        wrapper.setPropertyValue(property.name, value);
+                    }
+                }
+                return result;
+            } catch (IllegalAccessException e) {
+                throw new POJOResultBuildingException(errorMessage(), e);
+            } catch (InstantiationException e) {
+                throw new POJOResultBuildingException(errorMessage(), e);
+            } catch (InvocationTargetException e) {
+                throw new POJOResultBuildingException(errorMessage(), e);
+            } catch (NoSuchMethodException e) {
+                throw new POJOResultBuildingException(errorMessage(), e);
+            } catch (ClassNotFoundException e) {
+                throw new POJOResultBuildingException(errorMessage(), e);
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.springframework.data.neo4j.mapping.MappingPolicy;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -32,12 +33,18 @@ public class QueryResultProxy implements InvocationHandler {
     private final MappingPolicy mappingPolicy;
     private final ResultConverter converter;
     private final ResultColumnValueExtractor resultColumnValueExtractor;
+    private final Map<Method, QueryResultMapper.Column> columns;
 
     public QueryResultProxy(Map<String, Object> map, MappingPolicy mappingPolicy, ResultConverter converter) {
+        this(map, mappingPolicy, converter, Collections.<Method, QueryResultMapper.Column>emptyMap(), new ScalaIterableTypes());
+    }
+
+    QueryResultProxy(Map<String, Object> map, MappingPolicy mappingPolicy, ResultConverter converter, Map<Method, QueryResultMapper.Column> columns, ScalaIterableTypes scalaIterableTypes) {
         this.map = map;
         this.mappingPolicy = mappingPolicy;
         this.converter = converter;
-        this.resultColumnValueExtractor = new ResultColumnValueExtractor(map,mappingPolicy,converter);
+        this.columns = columns;
+        this.resultColumnValueExtractor = new ResultColumnValueExtractor(map, mappingPolicy, converter, scalaIterableTypes);
     }
 
     @SuppressWarnings("unchecked")
@@ -51,6 +58,10 @@ public class QueryResultProxy implements InvocationHandler {
            return map.hashCode();
         }
 
+        final QueryResultMapper.Column column = columns.get(method);
+        if (column != null) {
+            return column.extract(resultColumnValueExtractor);
+        }
         return resultColumnValueExtractor.extractFromMethod(method);
 
     }
@@ -26,11 +26,17 @@ public class ResultColumnValueExtractor {
     private final Map<String, Object> map;
     private final MappingPolicy mappingPolicy;
     private final ResultConverter converter;
+    private final ScalaIterableTypes scalaIterableTypes;
 
     public ResultColumnValueExtractor(Map<String, Object> map, MappingPolicy mappingPolicy, ResultConverter converter) {
+        this(map, mappingPolicy, converter, new ScalaIterableTypes());
+    }
+
+    ResultColumnValueExtractor(Map<String, Object> map, MappingPolicy mappingPolicy, ResultConverter converter, ScalaIterableTypes scalaIterableTypes) {
         this.map = map;
         this.mappingPolicy = mappingPolicy;
         this.converter = converter;
+        this.scalaIterableTypes = scalaIterableTypes;
     }
 
     public Object extractFromField(Field field) throws ClassNotFoundException,
@@ -57,8 +63,18 @@ public class ResultColumnValueExtractor {
                     NoSuchMethodException,
                     IllegalAccessException,
                     InvocationTargetException {
+        return extractColumn(column.value(), returnType);
+    }
 
-        String columnName = column.value();
+    /**
+     * Extracts the value of the column converted to the given type, used with column names and types that were
+     * resolved upfront.
+     */
+    public Object extractColumn(String columnName, TypeInformation<?> returnType)
+            throws ClassNotFoundException,
+                    NoSuchMethodException,
+                    IllegalAccessException,
+                    InvocationTargetException {
         if(!map.containsKey( columnName )) {
             throw new NoSuchColumnFoundException( columnName );
         }
@@ -67,7 +83,7 @@ public class ResultColumnValueExtractor {
         if(columnValue==null) return null;
 
         // If the returned value is a Scala iterable, transform it to a Java iterable first
-        Class iterableLikeInterface = implementsInterface("scala.collection.Iterable", columnValue.getClass());
+        Class iterableLikeInterface = scalaIterableTypes.iterableInterfaceOf(columnValue.getClass());
         if (iterableLikeInterface!=null) {
             columnValue = transformScalaIterableToJavaIterable(columnValue, iterableLikeInterface);
         }
@@ -90,22 +106,4 @@ public class ResultColumnValueExtractor {
         return javaIterable;
     }
 
-    private Class implementsInterface(String interfaceName, Class clazz) {
-        if(clazz.getCanonicalName().equals(interfaceName)) return clazz;
-
-        Class superclass = clazz.getSuperclass();
-        if(superclass != null) {
-            Class iface = implementsInterface(interfaceName, superclass);
-            if (iface!= null)  return iface;
-        }
-
-        for(Class iface : clazz.getInterfaces()) {
-            Class superIface = implementsInterface(interfaceName, iface);
-            if(superIface!=null)
-                return superIface;
-        }
-
-        return null;
-    }
-
 }
@@ -0,0 +1,64 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.conversion;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers which result value types implement {@code scala.collection.Iterable}. An instance is held by the result
+ * converter, so the cached types don't outlive it and its class loader.
+ *
+ * @author mh
+ * @since 16.10.26
+ */
+class ScalaIterableTypes {
+    private static final String SCALA_ITERABLE = "scala.collection.Iterable";
+
+    private final ConcurrentMap<Class<?>, Class<?>> iterableInterfaces = new ConcurrentHashMap<Class<?>, Class<?>>();
+    private final Set<Class<?>> nonIterableTypes = Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+
+    /**
+     * @return the scala iterable interface implemented by the type, null if it is no scala iterable
+     */
+    Class<?> iterableInterfaceOf(Class<?> type) {
+        if (nonIterableTypes.contains(type)) return null;
+        final Class<?> iface = iterableInterfaces.get(type);
+        if (iface != null) return iface;
+        final Class<?> found = implementsInterface(SCALA_ITERABLE, type);
+        if (found == null) nonIterableTypes.add(type);
+        else iterableInterfaces.putIfAbsent(type, found);
+        return found;
+    }
+
+    private static Class<?> implementsInterface(String interfaceName, Class<?> clazz) {
+        if (interfaceName.equals(clazz.getCanonicalName())) return clazz;
+
+        Class<?> superclass = clazz.getSuperclass();
+        if (superclass != null) {
+            Class<?> iface = implementsInterface(interfaceName, superclass);
+            if (iface != null) return iface;
+        }
+
+        for (Class<?> iface : clazz.getInterfaces()) {
+            Class<?> superIface = implementsInterface(interfaceName, iface);
+            if (superIface != null) return superIface;
+        }
+        return null;
+    }
+}
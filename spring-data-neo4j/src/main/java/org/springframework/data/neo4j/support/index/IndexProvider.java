@@ -39,6 +39,12 @@ public interface IndexProvider {
             IndexType fullText);
 
     <S extends PropertyContainer> Index<S> getIndex(Neo4jPersistentProperty property, final Class<?> instanceType);
+
+    /**
+     * @return the customized name of the index of the property, the index is neither looked up nor created
+     */
+    String getIndexName(Neo4jPersistentProperty property, Class<?> instanceType);
+
     /**
      * adjust your indexName for the "__types__" indices
      * 
@@ -47,7 +53,9 @@ public interface IndexProvider {
     String createIndexValueForType(Object type);
     
     /**
-     * possibility to do something with the high level index name 
+     * possibility to do something with the high level index name, e.g. prefixing it per tenant.
+     * It is called on each index access, index handles are only reused within a transaction for the same
+     * customized name.
      */
     String customizeIndexName(String indexName, Class<?> type);
 
@@ -23,15 +23,68 @@ import org.springframework.data.neo4j.annotation.Indexed;
 import org.springframework.data.neo4j.core.GraphDatabase;
 import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
 import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+import org.springframework.data.neo4j.support.TransactionResource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static org.springframework.data.neo4j.support.ParameterCheck.notNull;
 
 /**
+ * Index names of indexed properties are resolved once per property and instance type, only
+ * {@link #customizeIndexName(String, Class)} is applied on each access. The resolved index handles
+ * are reused for the rest of the surrounding transaction, so they can't outlive an index that is dropped
+ * between transactions.
+ *
  * @author mh
  * @since 17.10.11
  */
 public class IndexProviderImpl implements IndexProvider {
     private final GraphDatabase graphDatabase;
+    private final ConcurrentMap<PropertyIndexKey, ResolvedIndex> resolvedIndexes = new ConcurrentHashMap<PropertyIndexKey, ResolvedIndex>();
+    private final TransactionResource<Map<String, Index<?>>> indexesInTransaction = new TransactionResource<Map<String, Index<?>>>() {
+        @Override
+        protected Map<String, Index<?>> create() {
+            return new HashMap<String, Index<?>>();
+        }
+    };
+
+    private static class PropertyIndexKey {
+        private final Neo4jPersistentProperty property;
+        private final Class<?> instanceType;
+
+        PropertyIndexKey(Neo4jPersistentProperty property, Class<?> instanceType) {
+            this.property = property;
+            this.instanceType = instanceType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PropertyIndexKey)) return false;
+            final PropertyIndexKey other = (PropertyIndexKey) o;
+            return property.equals(other.property) && instanceType.equals(other.instanceType);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * property.hashCode() + instanceType.hashCode();
+        }
+    }
+
+    private static class ResolvedIndex {
+        private final Neo4jPersistentEntity<?> declaringType;
+        private final String indexName;
+        private final IndexType indexType;
+
+        ResolvedIndex(Neo4jPersistentEntity<?> declaringType, String indexName, IndexType indexType) {
+            this.declaringType = declaringType;
+            this.indexName = indexName;
+            this.indexType = indexType;
+        }
+    }
 
     public IndexProviderImpl(GraphDatabase graphDatabase) {
         this.graphDatabase = graphDatabase;
@@ -92,20 +145,49 @@ public class IndexProviderImpl implements IndexProvider {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <S extends PropertyContainer> Index<S> getIndex(Neo4jPersistentProperty property, final Class<?> instanceType) {
+        final ResolvedIndex resolvedIndex = resolvedIndex(property, instanceType);
+        // the customized name is not cached, as subclasses may derive it from the current context
+        final String indexName = customizeIndexName(resolvedIndex.indexName, instanceType);
+        final Map<String, Index<?>> indexes = indexesInTransaction.getOrCreate();
+        if (indexes == null) return getIndex(resolvedIndex.declaringType, indexName, resolvedIndex.indexType);
+        Index<S> index = (Index<S>) indexes.get(indexName);
+        if (index == null) {
+            index = getIndex(resolvedIndex.declaringType, indexName, resolvedIndex.indexType);
+            indexes.put(indexName, index);
+        }
+        return index;
+    }
+
+    @Override
+    public String getIndexName(Neo4jPersistentProperty property, Class<?> instanceType) {
+        return customizeIndexName(resolvedIndex(property, instanceType).indexName, instanceType);
+    }
+
+    private ResolvedIndex resolvedIndex(Neo4jPersistentProperty property, Class<?> instanceType) {
+        final PropertyIndexKey key = new PropertyIndexKey(property, instanceType);
+        final ResolvedIndex resolvedIndex = resolvedIndexes.get(key);
+        if (resolvedIndex != null) return resolvedIndex;
+        final ResolvedIndex newResolvedIndex = resolveIndex(property, instanceType);
+        resolvedIndexes.putIfAbsent(key, newResolvedIndex);
+        return newResolvedIndex;
+    }
+
+    private ResolvedIndex resolveIndex(Neo4jPersistentProperty property, final Class<?> instanceType) {
         final Indexed indexedAnnotation = property.getAnnotation(Indexed.class);
         final Neo4jPersistentEntity<?> declaringType = property.getOwner();
         final String providedIndexName = providedIndexName(indexedAnnotation);
         final Indexed.Level level = indexingLevel(indexedAnnotation);
-        String indexName = customizeIndexName(Indexed.Name.get(level, declaringType.getType(), providedIndexName, instanceType), instanceType);
+        String indexName = Indexed.Name.get(level, declaringType.getType(), providedIndexName, instanceType);
         if (!property.isIndexed() || property.getIndexInfo().getIndexType() == IndexType.SIMPLE) {
-            return getIndex(declaringType, indexName, IndexType.SIMPLE);
+            return new ResolvedIndex(declaringType, indexName, IndexType.SIMPLE);
         }
         String defaultIndexName = customizeIndexName(Indexed.Name.get(level, declaringType.getType(), null, instanceType.getClass()), instanceType);
         if (providedIndexName==null || providedIndexName.equals(defaultIndexName)) {
             throw new IllegalStateException("Index name for "+property+" must differ from the default name: "+defaultIndexName);
         }
-        return getIndex(declaringType, indexName, property.getIndexInfo().getIndexType());
+        return new ResolvedIndex(declaringType, indexName, property.getIndexInfo().getIndexType());
     }
 
     private Indexed.Level indexingLevel(Indexed indexedAnnotation) {
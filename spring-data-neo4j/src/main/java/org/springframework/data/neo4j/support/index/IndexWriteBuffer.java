@@ -0,0 +1,164 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.index;
+
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.index.Index;
+import org.springframework.data.neo4j.support.TransactionResource;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the index entries written for indexed properties within a spring managed transaction and applies them
+ * grouped per index before the transaction commits. Repeated writes of the same property of the same node or
+ * relationship only result in a single remove and add. Entries of nodes and relationships that are deleted in the
+ * transaction are dropped.
+ * Buffered entries are not visible to index lookups until they are flushed, which happens at commit or when
+ * {@link #flush()} is called explicitly.
+ *
+ * @author mh
+ * @since 16.10.26
+ */
+public class IndexWriteBuffer {
+
+    private static final Object REMOVED = new Object();
+
+    private final TransactionResource<Map<IndexKey, IndexWrites>> writesInTransaction = new TransactionResource<Map<IndexKey, IndexWrites>>() {
+        @Override
+        protected Map<IndexKey, IndexWrites> create() {
+            return new LinkedHashMap<IndexKey, IndexWrites>();
+        }
+
+        @Override
+        protected void beforeCommit(Map<IndexKey, IndexWrites> writes, boolean readOnly) {
+            apply(writes);
+        }
+    };
+
+    private static class IndexKey {
+        private final String name;
+        private final Class<?> entityType;
+
+        IndexKey(Index<?> index) {
+            this.name = index.getName();
+            this.entityType = index.getEntityType();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof IndexKey)) return false;
+            final IndexKey other = (IndexKey) o;
+            return name.equals(other.name) && entityType.equals(other.entityType);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + entityType.hashCode();
+        }
+    }
+
+    private static class EntryKey {
+        private final PropertyContainer state;
+        private final String key;
+
+        EntryKey(PropertyContainer state, String key) {
+            this.state = state;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof EntryKey)) return false;
+            final EntryKey other = (EntryKey) o;
+            return state.equals(other.state) && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * state.hashCode() + key.hashCode();
+        }
+    }
+
+    private static class IndexWrites {
+        private final Index<PropertyContainer> index;
+        private final Map<EntryKey, Object> values = new LinkedHashMap<EntryKey, Object>();
+
+        IndexWrites(Index<PropertyContainer> index) {
+            this.index = index;
+        }
+
+        void apply() {
+            for (Map.Entry<EntryKey, Object> entry : values.entrySet()) {
+                final EntryKey entryKey = entry.getKey();
+                index.remove(entryKey.state, entryKey.key);
+                final Object value = entry.getValue();
+                if (value != REMOVED) index.add(entryKey.state, entryKey.key, value);
+            }
+            values.clear();
+        }
+    }
+
+    /**
+     * Buffers replacing the indexed value of the key for the state, a null value only removes the existing entry.
+     *
+     * @return false if there is no spring managed transaction, the caller has to write the entry itself then
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends PropertyContainer> boolean write(Index<T> index, T state, String key, Object value) {
+        final Map<IndexKey, IndexWrites> writes = writesInTransaction.getOrCreate();
+        if (writes == null) return false;
+        final IndexKey indexKey = new IndexKey(index);
+        IndexWrites indexWrites = writes.get(indexKey);
+        if (indexWrites == null) {
+            indexWrites = new IndexWrites((Index<PropertyContainer>) index);
+            writes.put(indexKey, indexWrites);
+        }
+        indexWrites.values.put(new EntryKey(state, key), value == null ? REMOVED : value);
+        return true;
+    }
+
+    /**
+     * Drops the buffered entries of a node or relationship that is about to be deleted.
+     */
+    public void forget(PropertyContainer state) {
+        final Map<IndexKey, IndexWrites> writes = writesInTransaction.get();
+        if (writes == null) return;
+        for (IndexWrites indexWrites : writes.values()) {
+            for (Iterator<EntryKey> it = indexWrites.values.keySet().iterator(); it.hasNext(); ) {
+                if (it.next().state.equals(state)) it.remove();
+            }
+        }
+    }
+
+    /**
+     * Applies the entries buffered in the current transaction, e.g. before querying the indexes.
+     */
+    public void flush() {
+        final Map<IndexKey, IndexWrites> writes = writesInTransaction.get();
+        if (writes != null) apply(writes);
+    }
+
+    private void apply(Map<IndexKey, IndexWrites> writes) {
+        for (IndexWrites indexWrites : writes.values()) {
+            indexWrites.apply();
+        }
+        writes.clear();
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.springframework.data.mapping.Association;
+import org.springframework.data.mapping.AssociationHandler;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.neo4j.mapping.MappingPolicy;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The mapped properties of a persistent entity flattened into arrays once, so that copying state from and to an
+ * entity is a plain loop instead of walking the property and association handlers of the mapping metadata each time.
+ * Plain properties come first, followed by the inverse properties of the associations.
+ *
+ * @author mh
+ * @since 16.10.26
+ */
+class EntityMappingPlan {
+    private final Neo4jPersistentProperty[] properties;
+    private final MappingPolicy[] mappingPolicies;
+    private final FieldAccessHandle[] fieldAccess;
+    private final int associationOffset;
+
+    private EntityMappingPlan(List<Neo4jPersistentProperty> properties, int associationOffset) {
+        final int count = properties.size();
+        this.properties = properties.toArray(new Neo4jPersistentProperty[count]);
+        this.mappingPolicies = new MappingPolicy[count];
+        this.fieldAccess = new FieldAccessHandle[count];
+        for (int i = 0; i < count; i++) {
+            final Neo4jPersistentProperty property = this.properties[i];
+            mappingPolicies[i] = property.getMappingPolicy();
+            fieldAccess[i] = property instanceof Neo4jPersistentPropertyImpl ? ((Neo4jPersistentPropertyImpl) property).getFieldAccess() : null;
+        }
+        this.associationOffset = associationOffset;
+    }
+
+    static EntityMappingPlan compile(Neo4jPersistentEntity<?> persistentEntity) {
+        final List<Neo4jPersistentProperty> properties = new ArrayList<Neo4jPersistentProperty>();
+        persistentEntity.doWithProperties(new PropertyHandler<Neo4jPersistentProperty>() {
+            @Override
+            public void doWithPersistentProperty(Neo4jPersistentProperty property) {
+                properties.add(property);
+            }
+        });
+        final int associationOffset = properties.size();
+        persistentEntity.doWithAssociations(new AssociationHandler<Neo4jPersistentProperty>() {
+            @Override
+            public void doWithAssociation(Association<Neo4jPersistentProperty> association) {
+                properties.add(association.getInverse());
+            }
+        });
+        return new EntityMappingPlan(properties, associationOffset);
+    }
+
+    public int size() {
+        return properties.length;
+    }
+
+    public Neo4jPersistentProperty property(int index) {
+        return properties[index];
+    }
+
+    public MappingPolicy mappingPolicy(int index) {
+        return mappingPolicies[index];
+    }
+
+    /**
+     * @return the direct field access of the property, null if the property has to be accessed through a bean wrapper
+     */
+    public FieldAccessHandle fieldAccess(int index) {
+        return fieldAccess[index];
+    }
+
+    public boolean isAssociation(int index) {
+        return index >= associationOffset;
+    }
+}
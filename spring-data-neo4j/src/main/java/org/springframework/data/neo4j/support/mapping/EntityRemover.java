@@ -16,10 +16,24 @@
 package org.springframework.data.neo4j.support.mapping;
 
 import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PropertyContainer;
 import org.neo4j.graphdb.Relationship;
 import org.springframework.data.neo4j.core.GraphDatabase;
 import org.springframework.data.neo4j.core.TypeRepresentationStrategy;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
 import org.springframework.data.neo4j.mapping.RelationshipResult;
+import org.springframework.data.neo4j.support.index.IndexProvider;
+import org.springframework.data.neo4j.support.index.IndexWriteBuffer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
 * @author mh
@@ -31,43 +45,137 @@ public class EntityRemover {
     private TypeRepresentationStrategy<Node> nodeTypeRepresentationStrategy;
     private TypeRepresentationStrategy<Relationship> relationshipTypeRepresentationStrategy;
     private final GraphDatabase graphDatabase;
+    private final TransactionScopedEntityCache entityCache;
+    private EntitySnapshotCache snapshotCache;
+    private IndexWriteBuffer indexWriteBuffer;
+    private IndexProvider indexProvider;
+    private Neo4jMappingContext mappingContext;
+    private final ConcurrentMap<Neo4jPersistentEntity<?>, List<Neo4jPersistentProperty>> indexedProperties = new ConcurrentHashMap<Neo4jPersistentEntity<?>, List<Neo4jPersistentProperty>>();
 
     public EntityRemover(EntityStateHandler entityStateHandler, TypeRepresentationStrategy<Node> nodeTypeRepresentationStrategy, TypeRepresentationStrategy<Relationship> relationshipTypeRepresentationStrategy, GraphDatabase graphDatabase) {
+        this(entityStateHandler, nodeTypeRepresentationStrategy, relationshipTypeRepresentationStrategy, graphDatabase, new TransactionScopedEntityCache());
+    }
+
+    public EntityRemover(EntityStateHandler entityStateHandler, TypeRepresentationStrategy<Node> nodeTypeRepresentationStrategy, TypeRepresentationStrategy<Relationship> relationshipTypeRepresentationStrategy, GraphDatabase graphDatabase, TransactionScopedEntityCache entityCache) {
         this.entityStateHandler = entityStateHandler;
         this.nodeTypeRepresentationStrategy = nodeTypeRepresentationStrategy;
         this.relationshipTypeRepresentationStrategy = relationshipTypeRepresentationStrategy;
         this.graphDatabase = graphDatabase;
+        this.entityCache = entityCache;
+    }
+
+    public void setSnapshotCache(EntitySnapshotCache snapshotCache) {
+        this.snapshotCache = snapshotCache;
+    }
+
+    public void setIndexWriteBuffer(IndexWriteBuffer indexWriteBuffer) {
+        this.indexWriteBuffer = indexWriteBuffer;
+    }
+
+    /**
+     * If set, removing a node or relationship of a known entity type only removes it from the indexes of the indexed
+     * properties of its type instead of from every index. Entries in indexes that are maintained manually are left untouched then.
+     * States without a readable type are still removed from all indexes.
+     */
+    public void setEntityIndexes(IndexProvider indexProvider, Neo4jMappingContext mappingContext) {
+        this.indexProvider = indexProvider;
+        this.mappingContext = mappingContext;
+    }
+
+    private void evictCachedState(PropertyContainer state) {
+        entityCache.evict(state);
+        if (snapshotCache != null) snapshotCache.evict(state);
+        if (indexWriteBuffer != null) indexWriteBuffer.forget(state);
     }
 
     public void removeNodeEntity(Object entity) {
         Node node = entityStateHandler.getPersistentState(entity, Node.class);
         if (node == null) return;
-        removeNode(node);
+        removeNode(node, indexNamesOf(entity.getClass()));
     }
 
     private void removeNode(Node node) {
+        removeNode(node, indexNamesOf(node, nodeTypeRepresentationStrategy));
+    }
+
+    private void removeNode(Node node, Collection<String> indexNames) {
         nodeTypeRepresentationStrategy.preEntityRemoval(node);
         for (Relationship relationship : node.getRelationships()) {
             removeRelationship(relationship);
         }
-        graphDatabase.remove(node);
+        evictCachedState(node);
+        if (indexNames == null) graphDatabase.remove(node);
+        else graphDatabase.remove(node, indexNames);
     }
 
     public void removeRelationshipEntity(Object entity) {
         Relationship relationship = entityStateHandler.getPersistentState(entity, Relationship.class);
         if (relationship == null) return;
-        removeRelationship(relationship);
+        removeRelationship(relationship, indexNamesOf(entity.getClass()));
     }
 
     private void removeRelationship(Relationship relationship) {
+        removeRelationship(relationship, indexNamesOf(relationship, relationshipTypeRepresentationStrategy));
+    }
+
+    private void removeRelationship(Relationship relationship, Collection<String> indexNames) {
         relationshipTypeRepresentationStrategy.preEntityRemoval(relationship);
-        graphDatabase.remove(relationship);
+        evictCachedState(relationship);
+        if (indexNames == null) graphDatabase.remove(relationship);
+        else graphDatabase.remove(relationship, indexNames);
+    }
+
+    /**
+     * @return the indexes used by the stored type of the state, null if they are unknown
+     */
+    private <S extends PropertyContainer> Collection<String> indexNamesOf(S state, TypeRepresentationStrategy<S> typeRepresentationStrategy) {
+        if (indexProvider == null) return null;
+        final Object alias;
+        try {
+            alias = typeRepresentationStrategy.readAliasFrom(state);
+        } catch (RuntimeException e) {
+            return null; // not typed, e.g. created without mapping
+        }
+        return indexNamesOf(mappingContext.getPersistentEntity(alias));
+    }
+
+    private Collection<String> indexNamesOf(Class<?> type) {
+        if (indexProvider == null) return null;
+        return indexNamesOf(mappingContext.getPersistentEntity(type));
+    }
+
+    /**
+     * The index names are resolved on each removal, as they may be customized per access by the index provider.
+     */
+    private Collection<String> indexNamesOf(Neo4jPersistentEntity<?> persistentEntity) {
+        if (persistentEntity == null) return null;
+        final Class<?> type = persistentEntity.getType();
+        final Set<String> indexNames = new LinkedHashSet<String>();
+        for (Neo4jPersistentProperty property : indexedPropertiesOf(persistentEntity)) {
+            indexNames.add(indexProvider.getIndexName(property, type));
+        }
+        return indexNames;
+    }
+
+    private List<Neo4jPersistentProperty> indexedPropertiesOf(Neo4jPersistentEntity<?> persistentEntity) {
+        final List<Neo4jPersistentProperty> properties = indexedProperties.get(persistentEntity);
+        if (properties != null) return properties;
+        final List<Neo4jPersistentProperty> newProperties = new ArrayList<Neo4jPersistentProperty>();
+        persistentEntity.doWithProperties(new PropertyHandler<Neo4jPersistentProperty>() {
+            @Override
+            public void doWithPersistentProperty(Neo4jPersistentProperty property) {
+                if (property.isIndexed()) newProperties.add(property);
+            }
+        });
+        indexedProperties.putIfAbsent(persistentEntity, newProperties);
+        return newProperties;
     }
 
     public void removeRelationshipBetween(Object start, Object target, String type) {
         final RelationshipResult result = entityStateHandler.removeRelationshipTo(start, target, type);
         if (result!=null && result.type == RelationshipResult.Type.DELETED) {
             relationshipTypeRepresentationStrategy.preEntityRemoval(result.relationship);
+            evictCachedState(result.relationship);
         }
     }
 
@@ -0,0 +1,278 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+import org.springframework.data.neo4j.support.TransactionResource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared second level cache of the simple property values of loaded entities, keyed by node or relationship id and
+ * entity type. Only immutable values (strings, primitive wrappers, enums) of plain properties are held, associations and
+ * computed fields are always read from the graph.
+ * <p/>
+ * The cache is bounded by size, entries are evicted in least-recently or least-frequently used order and expire after
+ * the configured time to live. Entries are invalidated when an entity is saved or removed through the mapping layer, and
+ * again after completion of the surrounding transaction. Changes made directly to nodes or relationships are not seen, so
+ * it is meant for read-mostly types, which can be restricted with {@link #setCachedTypes(java.util.Collection)}.
+ * <p/>
+ * Within a spring managed transaction values are only published after it committed, and never for nodes or
+ * relationships evicted in that transaction, so uncommitted values don't reach other transactions. Such entries are
+ * also not read from the cache for the rest of the transaction.
+ *
+ * @author mh
+ * @since 16.10.26
+ */
+public class EntitySnapshotCache {
+
+    public enum EvictionPolicy { LRU, LFU }
+
+    private static class StateKey {
+        private final boolean node;
+        private final long id;
+
+        StateKey(PropertyContainer state) {
+            this.node = state instanceof Node;
+            this.id = node ? ((Node) state).getId() : ((Relationship) state).getId();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            StateKey stateKey = (StateKey) o;
+            return id == stateKey.id && node == stateKey.node;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (int) (id ^ (id >>> 32)) + (node ? 1 : 0);
+        }
+    }
+
+    private static class Entry {
+        private final long created = System.currentTimeMillis();
+        private final Map<Class<?>, Map<Neo4jPersistentProperty, Object>> snapshots = new HashMap<Class<?>, Map<Neo4jPersistentProperty, Object>>(2);
+        private long frequency;
+    }
+
+    private final int maxSize;
+    private final long timeToLiveMillis;
+    private final EvictionPolicy evictionPolicy;
+    private final LinkedHashMap<StateKey, Entry> entries;
+    private final Set<Class<?>> cachedTypes = new HashSet<Class<?>>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final TransactionResource<TransactionChanges> transactionChanges = new TransactionResource<TransactionChanges>() {
+        @Override
+        protected TransactionChanges create() {
+            return new TransactionChanges();
+        }
+
+        @Override
+        protected void afterCommit(TransactionChanges changes) {
+            for (Map.Entry<StateKey, Map<Class<?>, Map<Neo4jPersistentProperty, Object>>> pending : changes.pending.entrySet()) {
+                if (changes.evicted.contains(pending.getKey())) continue;
+                for (Map.Entry<Class<?>, Map<Neo4jPersistentProperty, Object>> snapshot : pending.getValue().entrySet()) {
+                    store(pending.getKey(), snapshot.getKey(), snapshot.getValue());
+                }
+            }
+        }
+
+        @Override
+        protected void afterCompletion(TransactionChanges changes, boolean committed) {
+            for (StateKey key : changes.evicted) {
+                remove(key);
+            }
+        }
+    };
+
+    private static class TransactionChanges {
+        private final Set<StateKey> evicted = new HashSet<StateKey>();
+        private final Map<StateKey, Map<Class<?>, Map<Neo4jPersistentProperty, Object>>> pending = new HashMap<StateKey, Map<Class<?>, Map<Neo4jPersistentProperty, Object>>>();
+    }
+
+    /**
+     * @param maxSize maximum number of nodes and relationships held
+     * @param timeToLiveMillis time after which an entry expires, values less or equal zero disable expiry
+     * @param evictionPolicy order in which entries are evicted when the cache is full
+     */
+    public EntitySnapshotCache(final int maxSize, long timeToLiveMillis, final EvictionPolicy evictionPolicy) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize must be greater than zero");
+        this.maxSize = maxSize;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.evictionPolicy = evictionPolicy == null ? EvictionPolicy.LRU : evictionPolicy;
+        this.entries = new LinkedHashMap<StateKey, Entry>(16, 0.75f, this.evictionPolicy == EvictionPolicy.LRU) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StateKey, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param cachedTypes the entity types (including subtypes) whose values are cached, all types are cached if empty
+     */
+    public void setCachedTypes(Collection<Class<?>> cachedTypes) {
+        synchronized (this.cachedTypes) {
+            this.cachedTypes.clear();
+            if (cachedTypes != null) this.cachedTypes.addAll(cachedTypes);
+        }
+    }
+
+    public boolean isCacheable(Class<?> type) {
+        synchronized (cachedTypes) {
+            if (cachedTypes.isEmpty()) return true;
+            for (Class<?> cachedType : cachedTypes) {
+                if (cachedType.isAssignableFrom(type)) return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @return true if the value of the property can be held in the cache, i.e. it is a plain, non-computed property
+     * and the value is immutable
+     */
+    public static boolean isSnapshotValue(Neo4jPersistentProperty property, Object value) {
+        if (property.isRelationship() || property.hasQuery() || property.isStartNode() || property.isEndNode()) return false;
+        return isImmutableValue(value);
+    }
+
+    public static boolean isImmutableValue(Object value) {
+        return value == null || value instanceof String || value instanceof Boolean || value instanceof Character
+                || value instanceof Enum || value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte || value instanceof Double || value instanceof Float
+                || value instanceof BigDecimal || value instanceof BigInteger;
+    }
+
+    public Map<Neo4jPersistentProperty, Object> get(PropertyContainer state, Class<?> type) {
+        final StateKey key = new StateKey(state);
+        final TransactionChanges changes = transactionChanges.get();
+        if (changes != null && changes.evicted.contains(key)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        return get(key, type);
+    }
+
+    private synchronized Map<Neo4jPersistentProperty, Object> get(StateKey key, Class<?> type) {
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (isExpired(entry)) {
+            entries.remove(key);
+            misses.incrementAndGet();
+            return null;
+        }
+        final Map<Neo4jPersistentProperty, Object> snapshot = entry.snapshots.get(type);
+        if (snapshot == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        entry.frequency++;
+        hits.incrementAndGet();
+        return snapshot;
+    }
+
+    /**
+     * Within a spring managed transaction the values are published after it committed, unless the node or
+     * relationship was evicted in the transaction.
+     */
+    public void put(PropertyContainer state, Class<?> type, Map<Neo4jPersistentProperty, Object> values) {
+        final StateKey key = new StateKey(state);
+        final TransactionChanges changes = transactionChanges.getOrCreate();
+        if (changes == null) {
+            store(key, type, values);
+            return;
+        }
+        if (changes.evicted.contains(key)) return;
+        Map<Class<?>, Map<Neo4jPersistentProperty, Object>> pending = changes.pending.get(key);
+        if (pending == null) {
+            pending = new HashMap<Class<?>, Map<Neo4jPersistentProperty, Object>>(2);
+            changes.pending.put(key, pending);
+        }
+        pending.put(type, new HashMap<Neo4jPersistentProperty, Object>(values));
+    }
+
+    private synchronized void store(StateKey key, Class<?> type, Map<Neo4jPersistentProperty, Object> values) {
+        Entry entry = entries.get(key);
+        if (entry == null || isExpired(entry)) {
+            if (entry == null && evictionPolicy == EvictionPolicy.LFU && entries.size() >= maxSize) {
+                evictLeastFrequentlyUsed();
+            }
+            entry = new Entry();
+            entries.put(key, entry);
+        }
+        entry.snapshots.put(type, Collections.unmodifiableMap(new HashMap<Neo4jPersistentProperty, Object>(values)));
+    }
+
+    public void evict(PropertyContainer state) {
+        if (state == null) return;
+        final StateKey key = new StateKey(state);
+        remove(key);
+        final TransactionChanges changes = transactionChanges.getOrCreate();
+        if (changes != null) {
+            changes.evicted.add(key);
+            changes.pending.remove(key);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private synchronized void remove(StateKey key) {
+        entries.remove(key);
+    }
+
+    private boolean isExpired(Entry entry) {
+        return timeToLiveMillis > 0 && System.currentTimeMillis() - entry.created > timeToLiveMillis;
+    }
+
+    private void evictLeastFrequentlyUsed() {
+        StateKey leastUsed = null;
+        long minFrequency = Long.MAX_VALUE;
+        for (Map.Entry<StateKey, Entry> entry : entries.entrySet()) {
+            if (entry.getValue().frequency < minFrequency) {
+                minFrequency = entry.getValue().frequency;
+                leastUsed = entry.getKey();
+            }
+        }
+        if (leastUsed != null) entries.remove(leastUsed);
+    }
+}
@@ -0,0 +1,271 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.neo4j.graphdb.PropertyContainer;
+import org.springframework.data.neo4j.fieldaccess.DirtyValue;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+import org.springframework.data.neo4j.support.TransactionResource;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * Remembers the property and relationship values of entity instances as they were loaded from or written to the graph,
+ * so that saving an entity only writes the values that were changed since.
+ * Snapshots are held per entity instance (by identity) and released when the entity is garbage collected.
+ * Values that can't be safely copied or compared are always considered changed.
+ * Snapshots taken within a spring managed transaction are only visible to that transaction until it commits, if it
+ * rolls back the snapshots of the entities it loaded or saved are dropped, so that they are written completely again.
+ *
+ * @author mh
+ * @since 16.10.26
+ */
+public class EntitySnapshots {
+
+    private static final Object NOT_COMPARABLE = new Object();
+
+    public static class Snapshot {
+        private final PropertyContainer state;
+        private final Map<Neo4jPersistentProperty, Object> values = new HashMap<Neo4jPersistentProperty, Object>();
+
+        public Snapshot(PropertyContainer state) {
+            this.state = state;
+        }
+
+        public void record(Neo4jPersistentProperty property, Object value) {
+            values.put(property, property.isRelationship() ? relatedSnapshotOf(value) : copyOf(value));
+        }
+
+        public boolean isUnchanged(Neo4jPersistentProperty property, Object value) {
+            if (!values.containsKey(property)) return false;
+            final Object snapshotValue = values.get(property);
+            if (snapshotValue == NOT_COMPARABLE) return false;
+            if (snapshotValue instanceof ValuesSnapshot) return ((ValuesSnapshot) snapshotValue).matches(value);
+            if (snapshotValue instanceof RelatedElementsSnapshot) return ((RelatedElementsSnapshot) snapshotValue).matches(value);
+            if (snapshotValue instanceof RelatedSnapshot) return ((RelatedSnapshot) snapshotValue).matches(value);
+            if (snapshotValue instanceof DirtyValue) return snapshotValue == value && !((DirtyValue) value).isDirty();
+            if (snapshotValue != null && snapshotValue.getClass().isArray()) {
+                return value != null && value.getClass().isArray() && Arrays.deepEquals(new Object[]{snapshotValue}, new Object[]{value});
+            }
+            return snapshotValue == null ? value == null : snapshotValue.equals(value);
+        }
+
+        PropertyContainer getState() {
+            return state;
+        }
+    }
+
+    /**
+     * reference to a single related entity, compared by identity. The entity is only weakly referenced, as entities
+     * in a bidirectional graph would otherwise keep each other's snapshots alive.
+     */
+    private static class RelatedSnapshot {
+        private final WeakReference<Object> related;
+
+        RelatedSnapshot(Object related) {
+            this.related = related == null ? null : new WeakReference<Object>(related);
+        }
+
+        boolean matches(Object value) {
+            if (related == null) return value == null;
+            return value != null && related.get() == value;
+        }
+    }
+
+    /**
+     * weak references to the elements of a relationship collection, compared by identity regardless of their order
+     * which is not stored in the graph
+     */
+    private static class RelatedElementsSnapshot {
+        private final List<WeakReference<Object>> elements;
+
+        RelatedElementsSnapshot(Collection<?> collection) {
+            this.elements = new ArrayList<WeakReference<Object>>(collection.size());
+            for (Object element : collection) {
+                elements.add(new WeakReference<Object>(element));
+            }
+        }
+
+        boolean matches(Object value) {
+            if (!(value instanceof Collection)) return false;
+            final Collection<?> collection = (Collection<?>) value;
+            if (collection.size() != elements.size()) return false;
+            final Set<Object> current = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>(elements.size()));
+            current.addAll(collection);
+            for (WeakReference<Object> element : elements) {
+                final Object related = element.get();
+                if (related == null || !current.contains(related)) return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * copy of a collection of immutable property values, sets are compared as sets, other collections by their
+     * ordered elements
+     */
+    private static class ValuesSnapshot {
+        private final Collection<Object> values;
+
+        ValuesSnapshot(Collection<?> collection) {
+            this.values = collection instanceof Set ? new HashSet<Object>(collection) : new ArrayList<Object>(collection);
+        }
+
+        boolean matches(Object value) {
+            if (!(value instanceof Collection)) return false;
+            if (values instanceof Set) return value instanceof Set && values.equals(value);
+            return values.equals(value instanceof List ? value : new ArrayList<Object>((Collection<?>) value));
+        }
+    }
+
+    private static class IdentityKey extends WeakReference<Object> {
+        private final int hash;
+
+        IdentityKey(Object entity, ReferenceQueue<Object> queue) {
+            super(entity, queue);
+            this.hash = System.identityHashCode(entity);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof IdentityKey)) return false;
+            final Object entity = get();
+            return entity != null && entity == ((IdentityKey) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final Map<IdentityKey, Snapshot> snapshots = new HashMap<IdentityKey, Snapshot>();
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<Object>();
+
+    private final TransactionResource<Map<Object, Snapshot>> snapshotsInTransaction = new TransactionResource<Map<Object, Snapshot>>() {
+        @Override
+        protected Map<Object, Snapshot> create() {
+            return new IdentityHashMap<Object, Snapshot>();
+        }
+
+        @Override
+        protected void afterCommit(Map<Object, Snapshot> pending) {
+            for (Map.Entry<Object, Snapshot> entry : pending.entrySet()) {
+                putCommitted(entry.getKey(), entry.getValue());
+            }
+        }
+
+        @Override
+        protected void afterCompletion(Map<Object, Snapshot> pending, boolean committed) {
+            if (committed) return;
+            for (Object entity : pending.keySet()) {
+                removeCommitted(entity);
+            }
+        }
+    };
+
+    public void put(Object entity, Snapshot snapshot) {
+        final Map<Object, Snapshot> pending = snapshotsInTransaction.getOrCreate();
+        if (pending != null) {
+            pending.put(entity, snapshot);
+            return;
+        }
+        putCommitted(entity, snapshot);
+    }
+
+    /**
+     * @return the snapshot of the entity if it was taken for the given state, null otherwise
+     */
+    public Snapshot get(Object entity, PropertyContainer state) {
+        final Map<Object, Snapshot> pending = snapshotsInTransaction.get();
+        Snapshot snapshot = pending != null ? pending.get(entity) : null;
+        if (snapshot == null) snapshot = getCommitted(entity);
+        if (snapshot == null || state == null || !state.equals(snapshot.getState())) return null;
+        return snapshot;
+    }
+
+    public void remove(Object entity) {
+        final Map<Object, Snapshot> pending = snapshotsInTransaction.get();
+        if (pending != null) pending.remove(entity);
+        removeCommitted(entity);
+    }
+
+    private synchronized void putCommitted(Object entity, Snapshot snapshot) {
+        expungeCollectedEntities();
+        snapshots.put(new IdentityKey(entity, queue), snapshot);
+    }
+
+    private synchronized Snapshot getCommitted(Object entity) {
+        expungeCollectedEntities();
+        return snapshots.get(new IdentityKey(entity, null));
+    }
+
+    private synchronized void removeCommitted(Object entity) {
+        snapshots.remove(new IdentityKey(entity, null));
+    }
+
+    public synchronized int size() {
+        expungeCollectedEntities();
+        return snapshots.size();
+    }
+
+    private void expungeCollectedEntities() {
+        Object key;
+        while ((key = queue.poll()) != null) {
+            snapshots.remove(key);
+        }
+    }
+
+    private static Object relatedSnapshotOf(Object value) {
+        if (value instanceof Collection) return new RelatedElementsSnapshot((Collection<?>) value);
+        return new RelatedSnapshot(value);
+    }
+
+    private static Object copyOf(Object value) {
+        if (value == null || EntitySnapshotCache.isImmutableValue(value) || value instanceof DirtyValue) return value;
+        if (value instanceof Date) return new Date(((Date) value).getTime());
+        if (value.getClass().isArray()) return copyOfArray(value);
+        if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                if (!EntitySnapshotCache.isImmutableValue(element)) return NOT_COMPARABLE;
+            }
+            return new ValuesSnapshot((Collection<?>) value);
+        }
+        return NOT_COMPARABLE;
+    }
+
+    private static Object copyOfArray(Object array) {
+        if (array instanceof Object[]) {
+            final Object[] copy = ((Object[]) array).clone();
+            for (Object element : copy) {
+                if (!EntitySnapshotCache.isImmutableValue(element)) return NOT_COMPARABLE;
+            }
+            return copy;
+        }
+        if (array instanceof int[]) return ((int[]) array).clone();
+        if (array instanceof long[]) return ((long[]) array).clone();
+        if (array instanceof double[]) return ((double[]) array).clone();
+        if (array instanceof float[]) return ((float[]) array).clone();
+        if (array instanceof boolean[]) return ((boolean[]) array).clone();
+        if (array instanceof short[]) return ((short[]) array).clone();
+        if (array instanceof byte[]) return ((byte[]) array).clone();
+        if (array instanceof char[]) return ((char[]) array).clone();
+        return NOT_COMPARABLE;
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.springframework.data.mapping.model.MappingException;
+import org.springframework.util.ClassUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Reads and writes a single field through method handles that are resolved once, so that accessing entity
+ * fields doesn't repeat the access checks of {@link Field#get(Object)} and {@link Field#set(Object, Object)} on every call.
+ * Primitive values are boxed and unboxed by the handles, final fields are still written reflectively.
+ *
+ * @author mh
+ * @since 16.10.26
+ */
+class FieldAccessHandle {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final Class<?> valueType;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    FieldAccessHandle(Field field) {
+        this.field = field;
+        this.valueType = ClassUtils.resolvePrimitiveIfNecessary(field.getType());
+        try {
+            if (!field.isAccessible()) field.setAccessible(true);
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            this.getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            this.setter = Modifier.isFinal(field.getModifiers()) ? null : lookup.unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new MappingException("Could not access field " + field, e);
+        }
+    }
+
+    public Object get(Object entity) {
+        try {
+            return (Object) getter.invokeExact(entity);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new MappingException("Could not read field " + field + " from " + entity, t);
+        }
+    }
+
+    public void set(Object entity, Object value) {
+        try {
+            if (setter == null) field.set(entity, value);
+            else setter.invokeExact(entity, value);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new MappingException("Could not set field " + field + " to " + value + " on " + entity, t);
+        }
+    }
+
+    /**
+     * @return true if the value can be assigned to the field without conversion
+     */
+    public boolean accepts(Object value) {
+        return value == null ? !field.getType().isPrimitive() : valueType.isInstance(value);
+    }
+}
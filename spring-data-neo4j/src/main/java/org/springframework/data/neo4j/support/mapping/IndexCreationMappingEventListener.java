@@ -15,30 +15,112 @@
  */
 package org.springframework.data.neo4j.support.mapping;
 
-import org.neo4j.graphdb.index.Index;
+import org.neo4j.graphdb.Transaction;
 import org.springframework.context.ApplicationListener;
 import org.springframework.data.mapping.PropertyHandler;
 import org.springframework.data.mapping.context.MappingContextEvent;
+import org.springframework.data.neo4j.annotation.QueryType;
+import org.springframework.data.neo4j.core.GraphDatabase;
 import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
 import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
 import org.springframework.data.neo4j.support.index.IndexProvider;
 import org.springframework.data.neo4j.support.index.IndexType;
+import org.springframework.data.neo4j.support.query.QueryEngine;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * @author mh
  * @since 12.04.12
  */
 public class IndexCreationMappingEventListener implements ApplicationListener<MappingContextEvent<Neo4jPersistentEntity<?>, Neo4jPersistentProperty>> {
+    private static final String CREATE_SCHEMA_INDEX = "CREATE INDEX ON :`%s`(`%s`)";
+    private static final String CREATE_UNIQUE_CONSTRAINT = "CREATE CONSTRAINT ON (n:`%s`) ASSERT n.`%s` IS UNIQUE";
+
     private IndexProvider indexProvider;
+    private GraphDatabase graphDatabase;
+    private final Queue<String> pendingSchemaStatements = new ConcurrentLinkedQueue<String>();
+
     public IndexCreationMappingEventListener(IndexProvider indexProvider) {
         this.indexProvider = indexProvider;
     }
 
+    /**
+     * Additionally creates schema indexes, or uniqueness constraints for unique properties, on the label of node
+     * entities for their exactly indexed properties, for use with the label based type representation strategy.
+     * They are created in their own transaction. If the entity is mapped while a transaction is running, their
+     * creation is deferred until that transaction has completed, or without transaction synchronization until
+     * the next entity is mapped outside of a transaction.
+     */
+    public IndexCreationMappingEventListener(IndexProvider indexProvider, GraphDatabase graphDatabase) {
+        this.indexProvider = indexProvider;
+        this.graphDatabase = graphDatabase;
+    }
+
     @Override
     public void onApplicationEvent(MappingContextEvent<Neo4jPersistentEntity<?>, Neo4jPersistentProperty> event) {
         if (!(event.getSource() instanceof Neo4jMappingContext)) return;
         final Neo4jPersistentEntity entity = event.getPersistentEntity();
         ensureEntityIndexes(entity);
+        if (graphDatabase != null && entity.isNodeEntity()) {
+            // the stored entity type is not yet available while the entity is added to the mapping context
+            final Object label = ((Neo4jMappingContext) event.getSource()).getEntityAlias().createAlias(entity);
+            ensureSchemaIndexes(entity, label.toString());
+        }
+    }
+
+    private void ensureSchemaIndexes(final Neo4jPersistentEntity<?> entity, final String label) {
+        final List<String> statements = new ArrayList<String>();
+        entity.doWithProperties(new PropertyHandler<Neo4jPersistentProperty>() {
+            @Override
+            public void doWithPersistentProperty(Neo4jPersistentProperty property) {
+                if (!property.isIndexed() || property.getIndexInfo().getIndexType() != IndexType.SIMPLE) return;
+                final String template = property.isUnique() ? CREATE_UNIQUE_CONSTRAINT : CREATE_SCHEMA_INDEX;
+                statements.add(String.format(template, label, property.getNeo4jPropertyName()));
+            }
+        });
+        pendingSchemaStatements.addAll(statements);
+        if (pendingSchemaStatements.isEmpty()) return;
+        if (!graphDatabase.transactionIsRunning() && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            createPendingSchemaIndexes();
+            return;
+        }
+        // entities are often first mapped within a transaction of the caller, which must not be mixed with schema changes
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    createPendingSchemaIndexes();
+                }
+            });
+        }
+    }
+
+    private void createPendingSchemaIndexes() {
+        final List<String> statements = new ArrayList<String>();
+        for (String statement = pendingSchemaStatements.poll(); statement != null; statement = pendingSchemaStatements.poll()) {
+            statements.add(statement);
+        }
+        if (statements.isEmpty()) return;
+        final QueryEngine<Object> queryEngine = graphDatabase.queryEngineFor(QueryType.Cypher);
+        final Transaction tx = graphDatabase.beginTx();
+        try {
+            for (String statement : statements) {
+                queryEngine.query(statement, Collections.<String, Object>emptyMap()).finish();
+            }
+            tx.success();
+        } catch (RuntimeException e) {
+            tx.failure();
+            throw e;
+        } finally {
+            tx.finish();
+        }
     }
 
     private void ensureEntityIndexes(Neo4jPersistentEntity<?> entity) {
@@ -32,7 +32,6 @@ import org.springframework.data.annotation.Transient;
 import org.springframework.data.mapping.Association;
 import org.springframework.data.mapping.PersistentEntity;
 import org.springframework.data.mapping.model.AnnotationBasedPersistentProperty;
-import org.springframework.data.mapping.model.MappingException;
 import org.springframework.data.mapping.model.SimpleTypeHolder;
 import org.springframework.data.neo4j.annotation.EndNode;
 import org.springframework.data.neo4j.annotation.Fetch;
@@ -77,11 +76,13 @@ class Neo4jPersistentPropertyImpl extends AnnotationBasedPersistentProperty<Neo4
     private final Boolean isAssociation;
     private final String neo4jPropertyName;
     private final int hash;
+    private final FieldAccessHandle fieldAccess;
 
     public Neo4jPersistentPropertyImpl(Field field, PropertyDescriptor propertyDescriptor,
                                        PersistentEntity<?, Neo4jPersistentProperty> owner, SimpleTypeHolder simpleTypeHolder, Neo4jMappingContext ctx) {
         super(field, propertyDescriptor, owner, simpleTypeHolder);
         this.hash = getField().hashCode();
+        this.fieldAccess = new FieldAccessHandle(getField());
         this.relationshipInfo = extractRelationshipInfo(field, ctx);
         this.annotations = extractAnnotations(field);
         this.propertyType = extractPropertyType();
@@ -155,12 +156,11 @@ class Neo4jPersistentPropertyImpl extends AnnotationBasedPersistentProperty<Neo4
 
     @Override
     public void setValue(Object entity, Object newValue) {
-        try {
-            if (!field.isAccessible()) field.setAccessible(true);
-            field.set(entity, newValue);
-        } catch (IllegalAccessException e) {
-            throw new MappingException("Could not access field "+field+" for setting value "+newValue+" on "+this);
-        }
+        fieldAccess.set(entity, newValue);
+    }
+
+    FieldAccessHandle getFieldAccess() {
+        return fieldAccess;
     }
 
     private static boolean hasAnnotation(TypeInformation<?> typeInformation, final Class<NodeEntity> annotationClass) {
@@ -278,13 +278,7 @@ class Neo4jPersistentPropertyImpl extends AnnotationBasedPersistentProperty<Neo4
 
     @Override
     public Object getValueFromEntity(Object entity, final MappingPolicy mappingPolicy) {
-        try {
-            final Field field = getField();
-            if (!field.isAccessible()) field.setAccessible(true);
-            return field.get(entity);
-        } catch (IllegalAccessException e) {
-            throw new MappingException("Could not access field "+field);
-        }
+        return fieldAccess.get(entity);
     }
 
     @SuppressWarnings("unchecked")
@@ -36,17 +36,41 @@ public class Neo4jEntityPersister implements EntityPersister, Neo4jEntityConvert
     Neo4jEntityConverter<Object,Relationship> relationshipConverter;
     private EntityStateHandler entityStateHandler;
     private final Neo4jMappingContext mappingContext;
+    private final TransactionScopedEntityCache entityCache;
+    private EntitySnapshotCache snapshotCache;
 
     public Neo4jEntityPersister(ConversionService conversionService, EntityTools<Node> nodeEntityTools, EntityTools<Relationship> relationshipEntityTools, Neo4jMappingContext mappingContext, EntityStateHandler entityStateHandler) {
+        this(conversionService, nodeEntityTools, relationshipEntityTools, mappingContext, entityStateHandler, new TransactionScopedEntityCache());
+    }
+
+    public Neo4jEntityPersister(ConversionService conversionService, EntityTools<Node> nodeEntityTools, EntityTools<Relationship> relationshipEntityTools, Neo4jMappingContext mappingContext, EntityStateHandler entityStateHandler, TransactionScopedEntityCache entityCache) {
         this.mappingContext = mappingContext;
         this.entityStateHandler = entityStateHandler;
+        this.entityCache = entityCache;
 
         Neo4jEntityFetchHandler fetchHandler=new Neo4jEntityFetchHandler(entityStateHandler, conversionService, nodeEntityTools.getSourceStateTransmitter(), relationshipEntityTools.getSourceStateTransmitter());
 
-        this.nodeConverter = new CachedConverter<Node>(new Neo4jEntityConverterImpl<Object,Node>(mappingContext, conversionService, entityStateHandler, fetchHandler, nodeEntityTools));
+        this.nodeConverter = new CachedConverter<Node>(new Neo4jEntityConverterImpl<Object,Node>(mappingContext, conversionService, entityStateHandler, fetchHandler, nodeEntityTools), entityCache);
+
+        this.relationshipConverter = new CachedConverter<Relationship>(new Neo4jEntityConverterImpl<Object,Relationship>(mappingContext, conversionService, entityStateHandler, fetchHandler, relationshipEntityTools), entityCache);
+
+    }
+
+    public TransactionScopedEntityCache getEntityCache() {
+        return entityCache;
+    }
 
-        this.relationshipConverter = new CachedConverter<Relationship>(new Neo4jEntityConverterImpl<Object,Relationship>(mappingContext, conversionService, entityStateHandler, fetchHandler, relationshipEntityTools));
+    public EntitySnapshotCache getSnapshotCache() {
+        return snapshotCache;
+    }
 
+    public void setSnapshotCache(EntitySnapshotCache snapshotCache) {
+        this.snapshotCache = snapshotCache;
+    }
+
+    private void evictCachedState(PropertyContainer state) {
+        entityCache.evict(state);
+        if (snapshotCache != null) snapshotCache.evict(state);
     }
 
     public <S extends PropertyContainer, T> T createEntityFromStoredType(S state, MappingPolicy mappingPolicy, final Neo4jTemplate template) {
@@ -97,8 +121,12 @@ public class Neo4jEntityPersister implements EntityPersister, Neo4jEntityConvert
         public static void push() {
             cache().depth++;
         }
+        /**
+         * The cache is bound to the reading thread and removed with the outermost read, so threads of an executor
+         * don't carry entities over to later reads.
+         */
         public static void pop() {
-            if (--cache().depth==0) {
+            if (--cache().depth<=0) {
                 stackedEntityCache.remove();
             }
         }
@@ -128,9 +156,9 @@ public class Neo4jEntityPersister implements EntityPersister, Neo4jEntityConvert
 
         @Override
         public <T> T createEntityFromState(S state, Class<T> type, final MappingPolicy mappingPolicy) {
+            if (state==null) throw new IllegalArgumentException("State must not be null");
+            StackedEntityCache.push();
             try {
-                if (state==null) throw new IllegalArgumentException("State must not be null");
-                StackedEntityCache.push();
                 if (StackedEntityCache.contains(state, mappingPolicy)) return StackedEntityCache.get(state, mappingPolicy);
                 final T newInstance = delegate.createEntityFromState(state, type, mappingPolicy);
                 return StackedEntityCache.add(state, newInstance, mappingPolicy);
@@ -141,9 +169,15 @@ public class Neo4jEntityPersister implements EntityPersister, Neo4jEntityConvert
     }
     public static class CachedConverter<S extends PropertyContainer> implements Neo4jEntityConverter<Object,S> {
         private final Neo4jEntityConverter<Object,S> delegate;
+        private final TransactionScopedEntityCache entityCache;
 
         public CachedConverter(Neo4jEntityConverter<Object, S> delegate) {
+            this(delegate, new TransactionScopedEntityCache());
+        }
+
+        public CachedConverter(Neo4jEntityConverter<Object, S> delegate, TransactionScopedEntityCache entityCache) {
             this.delegate = delegate;
+            this.entityCache = entityCache;
         }
 
         @Override
@@ -163,11 +197,14 @@ public class Neo4jEntityPersister implements EntityPersister, Neo4jEntityConvert
 
         @Override
         public <R> R read(Class<R> type, S state, MappingPolicy mappingPolicy, final Neo4jTemplate template) {
+            if (state==null) throw new IllegalArgumentException("State must not be null");
+            StackedEntityCache.push();
             try {
-                if (state==null) throw new IllegalArgumentException("State must not be null");
-                StackedEntityCache.push();
                 if (StackedEntityCache.contains(state, mappingPolicy)) return StackedEntityCache.get(state,mappingPolicy);
-                return StackedEntityCache.add(state, delegate.read(type, state,mappingPolicy, template),mappingPolicy);
+                final R cached = entityCache.get(state, type, mappingPolicy);
+                if (cached != null) return cached;
+                final R entity = StackedEntityCache.add(state, delegate.read(type, state, mappingPolicy, template), mappingPolicy);
+                return entityCache.add(state, entity, mappingPolicy);
             } finally {
                 StackedEntityCache.pop();
             }
@@ -224,11 +261,19 @@ public class Neo4jEntityPersister implements EntityPersister, Neo4jEntityConvert
 
     public Object persist( Object entity, final MappingPolicy mappingPolicy, final Neo4jTemplate template,
                            RelationshipType annotationProvidedRelationshipType ) {
+        return persist(entity, mappingPolicy, template, annotationProvidedRelationshipType, true);
+    }
+
+    /**
+     * @param reload if false, the written entity is returned as is instead of being re-read from its persistent state
+     */
+    public Object persist( Object entity, final MappingPolicy mappingPolicy, final Neo4jTemplate template,
+                           RelationshipType annotationProvidedRelationshipType, boolean reload ) {
         final Class<?> type = entity.getClass();
         if (isManaged(entity)) {
             return ((ManagedEntity)entity).persist();
         } else {
-            return persist(entity, type, mappingPolicy, template, annotationProvidedRelationshipType );
+            return persist(entity, type, mappingPolicy, template, annotationProvidedRelationshipType, reload );
         }
     }
 
@@ -237,16 +282,20 @@ public class Neo4jEntityPersister implements EntityPersister, Neo4jEntityConvert
     }
 
     private Object persist( Object entity, Class<?> type, MappingPolicy mappingPolicy, final Neo4jTemplate template,
-                            RelationshipType annotationProvidedRelationshipType ) {
+                            RelationshipType annotationProvidedRelationshipType, boolean reload ) {
         if (isNodeEntity(type)) {
             final Node node = this.<Node>getPersistentState(entity);
             this.nodeConverter.write(entity, node,mappingPolicy, template, null );
+            evictCachedState(getPersistentState(entity));
+            if (!reload) return entity;
             return createEntityFromState(getPersistentState(entity),type, getMappingPolicy(type), template);
             //return entity; // TODO ?
         }
         if (isRelationshipEntity(type)) {
             final Relationship relationship = this.<Relationship>getPersistentState(entity);
             this.relationshipConverter.write(entity, relationship,mappingPolicy, template, annotationProvidedRelationshipType );
+            evictCachedState(getPersistentState(entity));
+            if (!reload) return entity;
             return createEntityFromState(getPersistentState(entity),type, getMappingPolicy(type), template);
 //            return entity; // TODO ?
         }
@@ -33,6 +33,8 @@ import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Neo4J specific {@link MappingContext} implementation. Simply creates {@link Neo4jPersistentEntityImpl} and
@@ -60,9 +62,26 @@ public class Neo4jMappingContext extends AbstractMappingContext<Neo4jPersistentE
         final Neo4jPersistentEntityImpl<?> entity = super.addPersistentEntity(typeInformation);
         Collection<Neo4jPersistentEntity<?>> superTypeEntities = addSuperTypes(entity);
         entity.updateStoredType(new StoredEntityType(entity,superTypeEntities,entityAlias));
+        indexAliases(entity);
         return entity;
     }
 
+    private final ConcurrentMap<Object, Neo4jPersistentEntity<?>> entitiesByAlias = new ConcurrentHashMap<Object, Neo4jPersistentEntity<?>>();
+    private final Set<Object> unknownAliases = Collections.newSetFromMap(new ConcurrentHashMap<Object, Boolean>());
+
+    /**
+     * registers the entity under all values that {@link StoredEntityType#matchesAlias(Object)} accepts, the first
+     * registered entity wins. Aliases that were unknown before are looked up again.
+     */
+    private void indexAliases(Neo4jPersistentEntityImpl<?> entity) {
+        final StoredEntityType storedType = entity.getEntityType();
+        if (storedType.getAlias() != null) entitiesByAlias.putIfAbsent(storedType.getAlias(), entity);
+        entitiesByAlias.putIfAbsent(entity.getType().getName(), entity);
+        entitiesByAlias.putIfAbsent(entity.getType(), entity);
+        entitiesByAlias.putIfAbsent(entity.getTypeInformation(), entity);
+        unknownAliases.clear();
+    }
+
     private List<Neo4jPersistentEntity<?>> addSuperTypes(Neo4jPersistentEntity<?> entity) {
         List<Neo4jPersistentEntity<?>> entities=new ArrayList<Neo4jPersistentEntity<?>>();
         final Class<?> type = entity.getType();
@@ -88,12 +107,17 @@ public class Neo4jMappingContext extends AbstractMappingContext<Neo4jPersistentE
         return type.isAnnotationPresent(NodeEntity.class);
     }
 
-    // todo performance, change to direct lookups if too slow
     public Neo4jPersistentEntity<?> getPersistentEntity(Object alias) {
+        if (alias == null) return null;
+        final Neo4jPersistentEntity<?> indexed = entitiesByAlias.get(alias);
+        if (indexed != null) return indexed;
+        if (unknownAliases.contains(alias)) return null;
         for (Neo4jPersistentEntityImpl<?> entity : getPersistentEntities()) {
             if (entity.matchesAlias(alias)) return entity;
         }
-        return tryToResolveAliasAsEntityClassName(alias);
+        final Neo4jPersistentEntity<?> entity = tryToResolveAliasAsEntityClassName(alias);
+        if (entity == null) unknownAliases.add(alias);
+        return entity;
     }
 
     private Neo4jPersistentEntity<?> tryToResolveAliasAsEntityClassName(Object alias) {
@@ -18,9 +18,6 @@ package org.springframework.data.neo4j.support.mapping;
 import org.neo4j.graphdb.PropertyContainer;
 import org.neo4j.graphdb.Transaction;
 import org.springframework.core.convert.ConverterNotFoundException;
-import org.springframework.data.mapping.Association;
-import org.springframework.data.mapping.AssociationHandler;
-import org.springframework.data.mapping.PropertyHandler;
 import org.springframework.data.mapping.model.BeanWrapper;
 import org.springframework.data.mapping.model.MappingException;
 import org.springframework.data.neo4j.core.EntityState;
@@ -30,8 +27,13 @@ import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
 import org.springframework.data.neo4j.support.DoReturn;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
 import org.springframework.data.neo4j.support.node.EntityStateFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author mh
@@ -39,39 +41,73 @@ import java.lang.reflect.InvocationTargetException;
  */
 public class SourceStateTransmitter<S extends PropertyContainer> {
     private final EntityStateFactory<S> entityStateFactory;
+    private EntitySnapshotCache snapshotCache;
+    private EntitySnapshots entitySnapshots;
+    private final ConcurrentMap<Neo4jPersistentEntity<?>, EntityMappingPlan> mappingPlans = new ConcurrentHashMap<Neo4jPersistentEntity<?>, EntityMappingPlan>();
 
     public SourceStateTransmitter(EntityStateFactory<S> entityStateFactory) {
         this.entityStateFactory = entityStateFactory;
     }
 
+    public void setSnapshotCache(EntitySnapshotCache snapshotCache) {
+        this.snapshotCache = snapshotCache;
+    }
+
+    /**
+     * @param entitySnapshots if set, the loaded values of each entity are remembered and only changed values are written on save
+     */
+    public void setEntitySnapshots(EntitySnapshots entitySnapshots) {
+        this.entitySnapshots = entitySnapshots;
+    }
+
     public <R> R copyPropertiesFrom(final BeanWrapper<Neo4jPersistentEntity<R>, R> wrapper, S source, Neo4jPersistentEntity<R> persistentEntity, final MappingPolicy mappingPolicy, final Neo4jTemplate template) {
         final R entity = wrapper.getBean();
             final EntityState<S> entityState = entityStateFactory.getEntityState(entity, false, template);
             entityState.setPersistentState(source);
-            persistentEntity.doWithProperties(new PropertyHandler<Neo4jPersistentProperty>() {
-                @Override
-                public void doWithPersistentProperty(Neo4jPersistentProperty property) {
-                    copyEntityStatePropertyValue(property, entityState, wrapper, property.getMappingPolicy());  // TODO intelligent mappingPolicy.combineWith(property.getMappingPolicy())
-                }
-            });
-            persistentEntity.doWithAssociations(new AssociationHandler<Neo4jPersistentProperty>() {
-                @Override
-                public void doWithAssociation(Association<Neo4jPersistentProperty> association) {
-                    final Neo4jPersistentProperty property = association.getInverse();
-                    copyEntityStatePropertyValue(property, entityState, wrapper, property.getMappingPolicy());  // TODO intelligent mappingPolicy.combineWith(property.getMappingPolicy())
+            final Class<R> type = persistentEntity.getType();
+            final boolean cacheable = snapshotCache != null && snapshotCache.isCacheable(type);
+            final Map<Neo4jPersistentProperty, Object> snapshot = cacheable ? snapshotCache.get(source, type) : null;
+            // without a spring managed transaction it is unknown whether the running one wrote the state, so nothing is published
+            final boolean publishable = cacheable && (TransactionSynchronizationManager.isSynchronizationActive() || !template.transactionIsRunning());
+            final Map<Neo4jPersistentProperty, Object> newSnapshot = publishable && snapshot == null ? new HashMap<Neo4jPersistentProperty, Object>() : null;
+            final EntitySnapshots.Snapshot loaded = entitySnapshots != null ? new EntitySnapshots.Snapshot(source) : null;
+            final EntityMappingPlan plan = mappingPlanFor(persistentEntity);
+            for (int i = 0, count = plan.size(); i < count; i++) {
+                final Neo4jPersistentProperty property = plan.property(i);
+                final FieldAccessHandle fieldAccess = plan.fieldAccess(i);
+                final Object value;
+                if (snapshot != null && !plan.isAssociation(i) && snapshot.containsKey(property)) {
+                    value = snapshot.get(property);
+                    setProperty(wrapper, property, fieldAccess, value);
+                } else {
+                    value = DoReturn.unwrap(entityState.getValue(property, plan.mappingPolicy(i)));  // TODO intelligent mappingPolicy.combineWith(property.getMappingPolicy())
+                    setProperty(wrapper, property, fieldAccess, value);
+                    if (newSnapshot != null && !plan.isAssociation(i) && EntitySnapshotCache.isSnapshotValue(property, value)) {
+                        newSnapshot.put(property, value);
+                    }
                 }
-            });
+                if (loaded != null) loaded.record(property, value);
+            }
+            if (newSnapshot != null) {
+                snapshotCache.put(source, type, newSnapshot);
+            }
+            if (loaded != null) {
+                entitySnapshots.put(entity, loaded);
+            }
             return entity;
     }
 
-    private <R> void setEntityStateValue(Neo4jPersistentProperty property, EntityState<S> entityState, BeanWrapper<Neo4jPersistentEntity<R>, R> wrapper, final MappingPolicy mappingPolicy) {
-        if (!entityState.isWritable(property)) return;
-        final Object value = getProperty(wrapper, property);
-        entityState.setValue(property, value, mappingPolicy);
+    private EntityMappingPlan mappingPlanFor(Neo4jPersistentEntity<?> persistentEntity) {
+        final EntityMappingPlan plan = mappingPlans.get(persistentEntity);
+        if (plan != null) return plan;
+        final EntityMappingPlan newPlan = EntityMappingPlan.compile(persistentEntity);
+        final EntityMappingPlan existing = mappingPlans.putIfAbsent(persistentEntity, newPlan);
+        return existing != null ? existing : newPlan;
     }
 
-    private <R> Object getProperty(BeanWrapper<Neo4jPersistentEntity<R>, R> wrapper, Neo4jPersistentProperty property) {
+    private <R> Object getProperty(BeanWrapper<Neo4jPersistentEntity<R>, R> wrapper, Neo4jPersistentProperty property, FieldAccessHandle fieldAccess) {
         try {
+            if (fieldAccess != null) return fieldAccess.get(wrapper.getBean());
             return wrapper.getProperty(property);
         } catch (Exception e) {
             throw new MappingException("Error retrieving property " + property.getName() + " from " + wrapper.getBean(), e);
@@ -79,43 +115,48 @@ public class SourceStateTransmitter<S extends PropertyContainer> {
     }
 
     public <R> void setProperty(BeanWrapper<Neo4jPersistentEntity<R>, ?> wrapper, Neo4jPersistentProperty property, Object value) {
+        final FieldAccessHandle fieldAccess = property instanceof Neo4jPersistentPropertyImpl ? ((Neo4jPersistentPropertyImpl) property).getFieldAccess() : null;
+        setProperty(wrapper, property, fieldAccess, value);
+    }
+
+    private <R> void setProperty(BeanWrapper<Neo4jPersistentEntity<R>, ?> wrapper, Neo4jPersistentProperty property, FieldAccessHandle fieldAccess, Object value) {
         try {
+            if (fieldAccess != null && fieldAccess.accepts(value)) {
+                fieldAccess.set(wrapper.getBean(), value);
+                return;
+            }
+            // values that have to be converted first
             wrapper.setProperty(property,value);
         } catch (Exception e) {
             throw new MappingException("Setting property " + property.getName() + " to " + value + " on " + wrapper.getBean(), e);
         }
     }
 
-    private <R> Object copyEntityStatePropertyValue(Neo4jPersistentProperty property, EntityState<S> nodeState, BeanWrapper<Neo4jPersistentEntity<R>, R> wrapper, final MappingPolicy mappingPolicy) {
-        final Object value = DoReturn.unwrap(nodeState.getValue(property, mappingPolicy));
-        setProperty(wrapper, property, value);
-        return value;
-    }
-
     public <R> void copyPropertiesTo(final BeanWrapper<Neo4jPersistentEntity<R>, R> wrapper, S target, Neo4jPersistentEntity<R> persistentEntity, MappingPolicy mappingPolicy, final Neo4jTemplate template) {
         final Transaction tx = template.getGraphDatabase().beginTx();
         try {
             final EntityState<S> entityState = entityStateFactory.getEntityState(wrapper.getBean(), false, template);
             entityState.setPersistentState(target);
             entityState.persist();
-            // todo take mapping policies for attributes into account
-            persistentEntity.doWithProperties(new PropertyHandler<Neo4jPersistentProperty>() {
-                @Override
-                public void doWithPersistentProperty(Neo4jPersistentProperty property) {
-                    setEntityStateValue(property, entityState, wrapper, property.getMappingPolicy());
-                }
-            });
-            // todo take mapping policies for relationships into account
-            persistentEntity.doWithAssociations(new AssociationHandler<Neo4jPersistentProperty>() {
-                @Override
-                public void doWithAssociation(Association<Neo4jPersistentProperty> association) {
-                    final Neo4jPersistentProperty property = association.getInverse();
-                    setEntityStateValue(property, entityState, wrapper, property.getMappingPolicy());
-                }
-            });
+            final EntitySnapshots.Snapshot previous = entitySnapshots != null ? entitySnapshots.get(wrapper.getBean(), target) : null;
+            final EntitySnapshots.Snapshot written = entitySnapshots != null ? new EntitySnapshots.Snapshot(target) : null;
+            // todo take mapping policies for attributes and relationships into account
+            final EntityMappingPlan plan = mappingPlanFor(persistentEntity);
+            for (int i = 0, count = plan.size(); i < count; i++) {
+                final Neo4jPersistentProperty property = plan.property(i);
+                if (!entityState.isWritable(property)) continue;
+                final Object value = getProperty(wrapper, property, plan.fieldAccess(i));
+                if (written != null) written.record(property, value);
+                if (previous != null && previous.isUnchanged(property, value)) continue;
+                entityState.setValue(property, value, plan.mappingPolicy(i));
+            }
+            if (written != null) {
+                entitySnapshots.put(wrapper.getBean(), written);
+            }
             tx.success();
         } catch(Throwable t) {
 			tx.failure();
+            if (entitySnapshots != null) entitySnapshots.remove(wrapper.getBean());
 			if (t instanceof Error) throw (Error)t;
 			if (t instanceof RuntimeException) throw (RuntimeException)t;
 			throw new org.springframework.data.neo4j.core.UncategorizedGraphStoreException("Error copying properties from "+persistentEntity+" to "+target,t);
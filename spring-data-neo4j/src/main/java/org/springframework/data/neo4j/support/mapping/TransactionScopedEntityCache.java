@@ -0,0 +1,107 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.neo4j.graphdb.PropertyContainer;
+import org.springframework.data.neo4j.mapping.MappingPolicy;
+import org.springframework.data.neo4j.support.TransactionResource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Identity map of loaded entities that lives as long as the current spring managed transaction.
+ * The map is bound as a transactional resource on first use and released after completion of the transaction,
+ * outside of a synchronized transaction nothing is cached.
+ * Only fully loaded entities are held, entries are evicted when an entity is saved or removed.
+ *
+ * @author mh
+ * @since 16.10.26
+ */
+public class TransactionScopedEntityCache {
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile boolean enabled;
+    private final TransactionResource<Map<PropertyContainer, Object>> entitiesInTransaction = new TransactionResource<Map<PropertyContainer, Object>>() {
+        @Override
+        protected Map<PropertyContainer, Object> create() {
+            return new HashMap<PropertyContainer, Object>();
+        }
+    };
+
+    public TransactionScopedEntityCache() {
+        this(false);
+    }
+
+    public TransactionScopedEntityCache(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(PropertyContainer state, Class<T> type, MappingPolicy mappingPolicy) {
+        if (!isCacheable(state, mappingPolicy)) return null;
+        final Map<PropertyContainer, Object> entities = entitiesInTransaction.get();
+        final Object entity = entities == null ? null : entities.get(state);
+        if (entity == null || (type != null && !type.isInstance(entity))) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return (T) entity;
+    }
+
+    public <T> T add(PropertyContainer state, T entity, MappingPolicy mappingPolicy) {
+        if (entity == null || !isCacheable(state, mappingPolicy)) return entity;
+        final Map<PropertyContainer, Object> entities = entitiesInTransaction.getOrCreate();
+        if (entities != null && !entities.containsKey(state)) {
+            entities.put(state, entity);
+        }
+        return entity;
+    }
+
+    public void evict(PropertyContainer state) {
+        if (state == null) return;
+        final Map<PropertyContainer, Object> entities = entitiesInTransaction.get();
+        if (entities != null) entities.remove(state);
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+    }
+
+    private boolean isCacheable(PropertyContainer state, MappingPolicy mappingPolicy) {
+        if (!enabled || state == null) return false;
+        return mappingPolicy == null || mappingPolicy.shouldLoad();
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.query;
+
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.data.neo4j.core.GraphDatabase;
+import org.springframework.data.neo4j.repository.query.QueryTemplates;
+import org.springframework.data.neo4j.template.GraphCallback;
+import org.springframework.data.neo4j.template.Neo4jOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the count queries of paged queries on an executor while the content query runs in the calling thread.
+ * Each count query runs in its own transaction, so it doesn't see uncommitted changes of the calling transaction,
+ * callers count sequentially within writing transactions, see {@link #isWriteTransactionActive()}.
+ * Counts can be cached per query and parameters for a short time, the paging parameters are not part of the cache key
+ * as they don't change the count.
+ *
+ * @author mh
+ * @since 16.10.26
+ */
+public class PageCountExecutor {
+    private static final int MAX_CACHED_COUNTS = 1024;
+
+    private final Executor executor;
+    private final long cacheTtlMillis;
+    private final ConcurrentMap<CountKey, CachedCount> cachedCounts = new ConcurrentHashMap<CountKey, CachedCount>();
+
+    public PageCountExecutor(Executor executor) {
+        this(executor, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param cacheTtl how long counts are reused for the same query and parameters, 0 disables the cache
+     */
+    public PageCountExecutor(Executor executor, long cacheTtl, TimeUnit unit) {
+        if (executor == null) throw new IllegalArgumentException("Executor for count queries must not be null");
+        this.executor = executor;
+        this.cacheTtlMillis = unit.toMillis(cacheTtl);
+    }
+
+    /**
+     * @return true if a writing transaction is active. The content query would see its uncommitted changes but a
+     * concurrent count would not, so the count has to run sequentially in the same transaction.
+     */
+    public static boolean isWriteTransactionActive() {
+        return TransactionSynchronizationManager.isActualTransactionActive() && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * Starts the count query, its result has to be obtained with {@link #join(java.util.concurrent.Future)}.
+     */
+    public Future<Long> submit(final Neo4jOperations template, final String countQuery, Map<String, Object> params) {
+        final Map<String, Object> countParams = params == null ? new HashMap<String, Object>() : new HashMap<String, Object>(params);
+        final CountKey key = cacheTtlMillis > 0 ? new CountKey(countQuery, withoutPagingParams(countParams)) : null;
+        if (key != null) {
+            final CachedCount cached = cachedCounts.get(key);
+            if (cached != null) {
+                if (!cached.isExpired()) return completed(cached.count);
+                cachedCounts.remove(key, cached);
+            }
+        }
+        final FutureTask<Long> task = new FutureTask<Long>(new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                final Long count = template.exec(new GraphCallback<Long>() {
+                    @Override
+                    public Long doWithGraph(GraphDatabase graph) throws Exception {
+                        return template.query(countQuery, countParams).to(Long.class).singleOrNull();
+                    }
+                });
+                if (key != null && count != null) cache(key, count);
+                return count;
+            }
+        });
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Waits for the count query and rethrows its failure in the calling thread.
+     */
+    public Long join(Future<Long> count) {
+        try {
+            return count.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            count.cancel(true);
+            throw new DataRetrievalFailureException("Interrupted while waiting for count query", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new DataRetrievalFailureException("Error executing count query", cause);
+        }
+    }
+
+    /**
+     * Abandons the count query after the content query failed. A count query that already runs is not interrupted,
+     * as interrupting the store access of its transaction can close the underlying file channels.
+     */
+    public void cancel(Future<Long> count) {
+        count.cancel(false);
+    }
+
+    private static Map<String, Object> withoutPagingParams(Map<String, Object> params) {
+        if (!params.containsKey(QueryTemplates.SKIP_PARAMETER) && !params.containsKey(QueryTemplates.LIMIT_PARAMETER)) return params;
+        final Map<String, Object> result = new HashMap<String, Object>(params);
+        result.remove(QueryTemplates.SKIP_PARAMETER);
+        result.remove(QueryTemplates.LIMIT_PARAMETER);
+        return result;
+    }
+
+    private void cache(CountKey key, Long count) {
+        if (cachedCounts.size() >= MAX_CACHED_COUNTS) {
+            for (Iterator<CachedCount> it = cachedCounts.values().iterator(); it.hasNext(); ) {
+                if (it.next().isExpired()) it.remove();
+            }
+        }
+        if (cachedCounts.size() < MAX_CACHED_COUNTS) {
+            cachedCounts.put(key, new CachedCount(count, System.currentTimeMillis() + cacheTtlMillis));
+        }
+    }
+
+    private static Future<Long> completed(Long count) {
+        final FutureTask<Long> task = new FutureTask<Long>(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }, count);
+        task.run();
+        return task;
+    }
+
+    private static class CountKey {
+        private final String query;
+        private final Map<String, Object> params;
+
+        CountKey(String query, Map<String, Object> params) {
+            this.query = query;
+            this.params = params;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CountKey)) return false;
+            final CountKey other = (CountKey) o;
+            return query.equals(other.query) && params.equals(other.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * query.hashCode() + params.hashCode();
+        }
+    }
+
+    private static class CachedCount {
+        private final Long count;
+        private final long expiresAt;
+
+        CachedCount(Long count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
@@ -21,10 +21,18 @@ import java.lang.reflect.Array;
 import java.util.*;
 
 public class QueryParameterConverter {
+    private final Neo4jConversionServiceFactoryBean.EnumToStringConverter enumToStringConverter = new Neo4jConversionServiceFactoryBean.EnumToStringConverter();
+    private final Neo4jConversionServiceFactoryBean.DateToStringConverter dateToStringConverter = new Neo4jConversionServiceFactoryBean.DateToStringConverter();
+
+    /**
+     * @return the parameters with enums, dates, arrays and iterables converted, the given parameters themselves if
+     * none of the values has to be converted
+     */
     public Map<String, Object> convert(Map<String, Object> parameters) {
         if (parameters == null) return Collections.emptyMap();
+        if (!needsConversion(parameters)) return parameters;
 
-        HashMap<String, Object> convertedParameters = new HashMap<String, Object>();
+        HashMap<String, Object> convertedParameters = new HashMap<String, Object>(parameters.size() * 4 / 3 + 1);
 
         for (Map.Entry<String, Object> entry : parameters.entrySet()) {
             convertedParameters.put(entry.getKey(), convertParameter(entry.getValue()));
@@ -33,14 +41,24 @@ public class QueryParameterConverter {
         return convertedParameters;
     }
 
+    private boolean needsConversion(Map<String, Object> parameters) {
+        for (Object parameter : parameters.values()) {
+            if (parameter == null) continue;
+            if (parameter.getClass().isEnum() || parameter instanceof Date || parameter.getClass().isArray() || parameter instanceof Iterable) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Object convertParameter(Object parameter) {
         if (parameter == null) return null;
 
         if (parameter.getClass().isEnum())
-            return new Neo4jConversionServiceFactoryBean.EnumToStringConverter().convert((Enum) parameter);
+            return enumToStringConverter.convert((Enum) parameter);
 
         if (parameter instanceof Date)
-            return new Neo4jConversionServiceFactoryBean.DateToStringConverter().convert((Date) parameter);
+            return dateToStringConverter.convert((Date) parameter);
 
         if (parameter.getClass().isArray())
             return convertArray(parameter);
@@ -23,11 +23,13 @@ import org.neo4j.graphdb.index.IndexHits;
 import org.neo4j.helpers.collection.ClosableIterable;
 import org.springframework.data.neo4j.core.GraphDatabase;
 import org.springframework.data.neo4j.core.TypeRepresentationStrategy;
+import org.springframework.data.neo4j.support.TransactionResource;
 import org.springframework.data.neo4j.support.index.ClosableIndexHits;
 import org.springframework.data.neo4j.support.index.IndexProvider;
 import org.springframework.data.neo4j.support.index.IndexType;
 import org.springframework.data.neo4j.support.index.NoSuchIndexException;
 import org.springframework.data.neo4j.support.mapping.StoredEntityType;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.lang.Object;
 
@@ -41,6 +43,16 @@ public abstract class AbstractIndexBasedTypeRepresentationStrategy<S extends Pro
     protected final IndexProvider indexProvider;
     private final Class<? extends PropertyContainer> clazz;
     private Index<S> typesIndex;
+    /**
+     * marks a transaction that changed the types index, the hit count reported by the index doesn't account for
+     * the uncommitted changes
+     */
+    private final TransactionResource<Boolean> typesIndexChangedInTransaction = new TransactionResource<Boolean>() {
+        @Override
+        protected Boolean create() {
+            return Boolean.TRUE;
+        }
+    };
 
     public AbstractIndexBasedTypeRepresentationStrategy(GraphDatabase graphDb, IndexProvider indexProvider,
                                                         final String indexName, final Class<? extends PropertyContainer> clazz) {
@@ -76,15 +88,34 @@ public abstract class AbstractIndexBasedTypeRepresentationStrategy<S extends Pro
         state.setProperty(TYPE_PROPERTY_NAME, type.getAlias());
     }
 
+    /**
+     * uses the hit count reported by the index, the hits are iterated if the current transaction may have changed
+     * the types index
+     */
     @Override
     public long count(StoredEntityType type) {
-        long count = 0;
         final IndexHits<S> hits = get(type.getAlias());
-        while (hits.hasNext()) {
-            hits.next();
-            count++;
+        try {
+            if (!typesIndexMayHaveChanged()) return hits.size();
+            long count = 0;
+            while (hits.hasNext()) {
+                hits.next();
+                count++;
+            }
+            return count;
+        } finally {
+            hits.close();
+        }
+    }
+
+    /**
+     * without a spring managed transaction the changes of a running transaction are unknown
+     */
+    private boolean typesIndexMayHaveChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            return typesIndexChangedInTransaction.get() != null;
         }
-        return count;
+        return graphDb.transactionIsRunning();
     }
 
     private IndexHits<S> get(Object value) {
@@ -102,6 +133,7 @@ public abstract class AbstractIndexBasedTypeRepresentationStrategy<S extends Pro
     }
 
     private void remove(S state) {
+        typesIndexChangedInTransaction.getOrCreate();
         try {
             typesIndex.remove(state);
         } catch(IllegalStateException ise) {
@@ -131,6 +163,7 @@ public abstract class AbstractIndexBasedTypeRepresentationStrategy<S extends Pro
     }
 
     private void add(S element, Object value) {
+        typesIndexChangedInTransaction.getOrCreate();
         try {
             typesIndex.add(element, INDEX_KEY, indexValueForType(value));
         } catch(IllegalStateException ise) {
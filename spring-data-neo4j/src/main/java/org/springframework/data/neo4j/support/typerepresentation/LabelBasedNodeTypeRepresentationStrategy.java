@@ -19,18 +19,29 @@ package org.springframework.data.neo4j.support.typerepresentation;
 import org.neo4j.graphdb.DynamicLabel;
 import org.neo4j.graphdb.Label;
 import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.ResourceIterator;
 import org.neo4j.helpers.collection.ClosableIterable;
 import org.springframework.data.neo4j.annotation.QueryType;
 import org.springframework.data.neo4j.core.GraphDatabase;
 import org.springframework.data.neo4j.core.NodeTypeRepresentationStrategy;
 import org.springframework.data.neo4j.repository.query.CypherQuery;
+import org.springframework.data.neo4j.support.DelegatingGraphDatabase;
+import org.springframework.data.neo4j.support.TransactionResource;
 import org.springframework.data.neo4j.support.mapping.StoredEntityType;
 import org.springframework.data.neo4j.support.mapping.WrappedIterableClosableIterable;
 import org.springframework.data.neo4j.support.query.QueryEngine;
 
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
- * Provides a Node Type Representation Strategy which makes use of Labels, and specifically
- * uses Cypher as the mechanism for interacting with the graph database.
+ * Provides a Node Type Representation Strategy which makes use of Labels. Embedded databases read and
+ * write the labels of a node directly, otherwise Cypher is used as the mechanism for interacting
+ * with the graph database. The type alias of a node is remembered until the end of the transaction.
  *
  * @author Nicki Watt
  * @since 24-09-2013
@@ -45,12 +56,24 @@ public class LabelBasedNodeTypeRepresentationStrategy implements NodeTypeReprese
     protected final Class<Node> clazz;
     protected final LabelBasedStrategyCypherHelper cypherHelper;
     protected QueryEngine<CypherQuery> queryEngine;
+    private final boolean useKernelLabels;
+    private final ConcurrentMap<Object, Label[]> labelsForAlias = new ConcurrentHashMap<Object, Label[]>();
+    /**
+     * aliases read within a transaction are remembered per node id until its completion
+     */
+    private final TransactionResource<Map<Long, Object>> aliasesInTransaction = new TransactionResource<Map<Long, Object>>() {
+        @Override
+        protected Map<Long, Object> create() {
+            return new HashMap<Long, Object>();
+        }
+    };
 
     public LabelBasedNodeTypeRepresentationStrategy(GraphDatabase graphDb) {
         this.graphDb = graphDb;
         this.clazz = Node.class;
         this.queryEngine = graphDb.queryEngineFor(QueryType.Cypher);
         this.cypherHelper = new LabelBasedStrategyCypherHelper(queryEngine);
+        this.useKernelLabels = graphDb instanceof DelegatingGraphDatabase;
         markSDNLabelStrategyInUse();
     }
 
@@ -58,33 +81,62 @@ public class LabelBasedNodeTypeRepresentationStrategy implements NodeTypeReprese
     public void writeTypeTo(Node state, StoredEntityType type) {
         if (type == null || !type.isNodeEntity()) return;
 
-        Label sdnLabel = DynamicLabel.label(LABELSTRATEGY_PREFIX + type.getAlias());
-        if (state.hasLabel(sdnLabel)) {
+        final Label[] labels = getLabelsForEntityHierarchy(type);
+        if (state.hasLabel(labels[0])) {
             return; // already there
         }
-        addLabelsForEntityHierarchy(state,type);
+        forgetAlias(state);
+        addLabelsForEntityHierarchy(state, labels);
     }
 
     /**
      * For each level in the entity hierarchy, this method will assign a
      * label (the label name is based on the alias associated with the
      * entity type at each level). Additionally, a special label is added
-     * as the primary SDN marker Label.
+     * as the primary SDN marker Label. Embedded databases add the labels
+     * directly to the node, remote ones use a single cypher statement.
      */
-    private void addLabelsForEntityHierarchy(Node state, StoredEntityType type) {
-        String labels = cypherHelper.buildLabelString(LABELSTRATEGY_PREFIX + type.getAlias(), (String)type.getAlias());
-        labels = buildLabelStringIncludingEachEntityInHierarchy(labels, type);
-        cypherHelper.setLabelsOnNode(state.getId(), labels);
+    private void addLabelsForEntityHierarchy(Node state, Label[] labels) {
+        if (useKernelLabels) {
+            for (Label label : labels) {
+                state.addLabel(label);
+            }
+            return;
+        }
+        final String[] labelNames = new String[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            labelNames[i] = labels[i].name();
+        }
+        cypherHelper.setLabelsOnNode(state.getId(), cypherHelper.buildLabelString(labelNames));
     }
 
-    private String buildLabelStringIncludingEachEntityInHierarchy(String labels, StoredEntityType type) {
-        for (StoredEntityType superType : type.getSuperTypes()) {
-            labels += cypherHelper.buildLabelString((String)superType.getAlias());
-            labels += buildLabelStringIncludingEachEntityInHierarchy(labels, superType);
+    /**
+     * @return the primary SDN label of the type followed by the alias labels of the type and all its super types,
+     * computed once per alias
+     */
+    private Label[] getLabelsForEntityHierarchy(StoredEntityType type) {
+        final Object alias = type.getAlias();
+        Label[] labels = labelsForAlias.get(alias);
+        if (labels != null) return labels;
+        final Set<String> labelNames = new LinkedHashSet<String>();
+        labelNames.add(LABELSTRATEGY_PREFIX + alias);
+        addAliasesOfEntityHierarchy(labelNames, type);
+        labels = new Label[labelNames.size()];
+        int i = 0;
+        for (String labelName : labelNames) {
+            labels[i++] = DynamicLabel.label(labelName);
         }
+        labelsForAlias.putIfAbsent(alias, labels);
         return labels;
     }
 
+    private void addAliasesOfEntityHierarchy(Set<String> labelNames, StoredEntityType type) {
+        labelNames.add((String) type.getAlias());
+        for (StoredEntityType superType : type.getSuperTypes()) {
+            addAliasesOfEntityHierarchy(labelNames, superType);
+        }
+    }
+
     /**
      * Ensures that a special label (SDN_LABEL_STRATEGY) exists against the
      * reference node, and if it does not, it is added. This label serves
@@ -110,19 +162,52 @@ public class LabelBasedNodeTypeRepresentationStrategy implements NodeTypeReprese
     public Object readAliasFrom(Node state) {
         if (state == null)
             throw new IllegalArgumentException("Node is null");
+        final Map<Long, Object> aliases = aliasesInTransaction.getOrCreate();
+        if (aliases != null) {
+            final Object alias = aliases.get(state.getId());
+            if (alias != null) return alias;
+        }
+        final Object alias = useKernelLabels ? readAliasFromLabels(state) : readAliasWithCypher(state);
+        if (alias == null) {
+            throw new IllegalStateException("No primary SDN label exists .. (i.e one with starting with " + LABELSTRATEGY_PREFIX + ") ");
+        }
+        if (aliases != null) aliases.put(state.getId(), alias);
+        return alias;
+    }
+
+    private Object readAliasFromLabels(Node state) {
+        final ResourceIterator<Label> labels = state.getLabels().iterator();
+        try {
+            while (labels.hasNext()) {
+                final String label = labels.next().name();
+                if (label.startsWith(LABELSTRATEGY_PREFIX)) {
+                    return label.substring(LABELSTRATEGY_PREFIX.length());
+                }
+            }
+            return null;
+        } finally {
+            labels.close();
+        }
+    }
+
+    private Object readAliasWithCypher(Node state) {
         Iterable<String> labels = cypherHelper.getLabelsForNode(state.getId());
         for (String label: labels) {
             if (label.startsWith(LABELSTRATEGY_PREFIX)) {
                 return label.substring(LABELSTRATEGY_PREFIX.length());
             }
         }
-        throw new IllegalStateException("No primary SDN label exists .. (i.e one with starting with " + LABELSTRATEGY_PREFIX + ") ");
-
+        return null;
     }
 
     @Override
     public void preEntityRemoval(Node state) {
-        // don't think we need to do anything here!
+        forgetAlias(state);
+    }
+
+    private void forgetAlias(Node state) {
+        final Map<Long, Object> aliases = aliasesInTransaction.get();
+        if (aliases != null) aliases.remove(state.getId());
     }
 
     public static boolean isStrategyAlreadyInUse(GraphDatabase graphDatabaseService) {
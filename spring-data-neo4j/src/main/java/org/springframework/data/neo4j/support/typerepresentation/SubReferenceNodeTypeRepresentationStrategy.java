@@ -25,17 +25,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.neo4j.core.GraphDatabase;
 import org.springframework.data.neo4j.core.NodeTypeRepresentationStrategy;
+import org.springframework.data.neo4j.support.TransactionResource;
 import org.springframework.data.neo4j.support.mapping.StoredEntityType;
 
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * A {@link org.springframework.data.neo4j.core.TypeRepresentationStrategy} that uses a hierarchy of reference nodes to represent the java type of the entity in the
- * graph database. Entity nodes are related to their concrete type via an INSTANCE_OF relationship, the type hierarchy is
- * related to supertypes via SUBCLASS_OF relationships. Each concrete subreference node keeps a count property with the number of
- * instances of this class in the graph.
+ * graph database. The type hierarchy is related to supertypes via SUBCLASS_OF relationships. Each subreference node has a
+ * fixed number of stripe nodes related to it via STRIPE_OF relationships. Entity nodes are related to a stripe of their
+ * concrete type via an INSTANCE_OF relationship, the stripe is chosen by the node id. Each stripe keeps a count property with
+ * the number of instances of this class and its subclasses in that stripe, so concurrent inserts of one type lock
+ * different nodes. Counter changes made within a spring managed transaction are applied when it commits.
+ * Entity nodes and counters stored directly on subreference nodes by earlier versions are still read and updated.
  *
  * @author Michael Hunger
  * @since 13.09.2010
@@ -45,16 +51,46 @@ public class SubReferenceNodeTypeRepresentationStrategy implements NodeTypeRepre
 
     public final static RelationshipType INSTANCE_OF_RELATIONSHIP_TYPE = DynamicRelationshipType.withName("INSTANCE_OF");
     public final static RelationshipType SUBCLASS_OF_RELATIONSHIP_TYPE = DynamicRelationshipType.withName("SUBCLASS_OF");
+    public final static RelationshipType STRIPE_OF_RELATIONSHIP_TYPE = DynamicRelationshipType.withName("STRIPE_OF");
 
     public static final String SUBREFERENCE_NODE_COUNTER_KEY = "count";
     public static final String SUBREF_PREFIX = "SUBREF_";
 	public static final String SUBREF_CLASS_KEY = "class";
+    public static final String SUBREF_STRIPE_KEY = "stripe";
+    public static final int DEFAULT_STRIPES = 16;
 
 	private GraphDatabase graphDatabase;
     private final EntityTypeCache typeCache;
+    private final int stripes;
+
+    /**
+     * Within a transaction the counter changes are collected and applied to the stripe nodes right before commit,
+     * ordered by node id, so the counter writes of the type hierarchy always happen in the same order.
+     */
+    private final TransactionResource<Map<Long, CounterDelta>> counterDeltasInTransaction = new TransactionResource<Map<Long, CounterDelta>>() {
+        @Override
+        protected Map<Long, CounterDelta> create() {
+            return new TreeMap<Long, CounterDelta>();
+        }
+
+        @Override
+        protected void beforeCommit(Map<Long, CounterDelta> deltas, boolean readOnly) {
+            for (CounterDelta counterDelta : deltas.values()) {
+                final Integer count = applyCounterDelta(counterDelta.node, counterDelta.delta);
+                if (log.isDebugEnabled()) log.debug("count on ref " + counterDelta.node + " changed by " + counterDelta.delta + " to " + count);
+            }
+            deltas.clear();
+        }
+    };
 
     public SubReferenceNodeTypeRepresentationStrategy(GraphDatabase graphDatabase) {
+        this(graphDatabase, DEFAULT_STRIPES);
+    }
+
+    public SubReferenceNodeTypeRepresentationStrategy(GraphDatabase graphDatabase, int stripes) {
+        if (stripes < 1) throw new IllegalArgumentException("stripes must be greater than zero");
 		this.graphDatabase = graphDatabase;
+        this.stripes = stripes;
         typeCache = new EntityTypeCache();
     }
 
@@ -105,39 +141,134 @@ public class SubReferenceNodeTypeRepresentationStrategy implements NodeTypeRepre
 	    final Node subReference = obtainSubreferenceNode(type);
         for ( Relationship relationship : state.getRelationships( INSTANCE_OF_RELATIONSHIP_TYPE, Direction.OUTGOING ) )
         {
-            if (relationship.getEndNode().equals( subReference )) return;  // already there
+            if (subReference.equals(subReferenceOf(relationship.getEndNode()))) return;  // already there
         }
-        state.createRelationshipTo(subReference, INSTANCE_OF_RELATIONSHIP_TYPE);
-	    subReference.setProperty(SUBREF_CLASS_KEY, type.getAlias());
-	    if (log.isDebugEnabled()) log.debug("Created link to subref node: " + subReference + " with type: " + type.getType().getSimpleName()+" alias "+type.getAlias());
+        setSubrefClass(subReference, type);
+        final int stripe = stripeOf(state);
+        final Node stripeNode = obtainStripeNode(subReference, stripe, type.getAlias());
+        state.createRelationshipTo(stripeNode, INSTANCE_OF_RELATIONSHIP_TYPE);
+	    if (log.isDebugEnabled()) log.debug("Created link to stripe " + stripe + " of subref node: " + subReference + " with type: " + type.getType().getSimpleName()+" alias "+type.getAlias());
 
-        incrementAndGetCounter(subReference, SUBREFERENCE_NODE_COUNTER_KEY);
+        updateCounter(stripeNode, 1);
 
         for (StoredEntityType superType : type.getSuperTypes()) {
-            updateSuperClassSubrefs(superType,subReference);
+            updateSuperClassSubrefs(superType, subReference, stripe);
         }
     }
 
-    private void updateSuperClassSubrefs(StoredEntityType type, Node subReference) {
+    private void updateSuperClassSubrefs(StoredEntityType type, Node subReference, int stripe) {
         if (type == null || !type.isNodeEntity()) return;
 
         Node superClassSubref = obtainSubreferenceNode(type);
         if (getSingleOtherNode(subReference, SUBCLASS_OF_RELATIONSHIP_TYPE, Direction.OUTGOING) == null) {
             subReference.createRelationshipTo(superClassSubref, SUBCLASS_OF_RELATIONSHIP_TYPE);
         }
-        superClassSubref.setProperty(SUBREF_CLASS_KEY, type.getAlias());
-        Integer count = incrementAndGetCounter(superClassSubref, SUBREFERENCE_NODE_COUNTER_KEY);
-        if (log.isDebugEnabled()) log.debug("count on ref " + superClassSubref + " for class " + type.getType().getSimpleName()+" alias: "+ type.getAlias() + " = " + count);
+        setSubrefClass(superClassSubref, type);
+        updateCounter(obtainStripeNode(superClassSubref, stripe, type.getAlias()), 1);
+        if (log.isDebugEnabled()) log.debug("incremented count on stripe " + stripe + " of ref " + superClassSubref + " for class " + type.getType().getSimpleName()+" alias: "+ type.getAlias());
         for (StoredEntityType superType : type.getSuperTypes()) {
-            updateSuperClassSubrefs(superType,subReference);
+            updateSuperClassSubrefs(superType, subReference, stripe);
+        }
+    }
+
+    private int stripeOf(Node state) {
+        return (int) (state.getId() % stripes);
+    }
+
+    /**
+     * @return the subreference node of a stripe node, or the node itself if it is a subreference node to which entities
+     * were related by earlier versions
+     */
+    private Node subReferenceOf(Node typeNode) {
+        final Node subReference = getSingleOtherNode(typeNode, STRIPE_OF_RELATIONSHIP_TYPE, Direction.OUTGOING);
+        return subReference != null ? subReference : typeNode;
+    }
+
+    private Node findStripeNode(Node subReference, int stripe) {
+        for (Relationship relationship : subReference.getRelationships(STRIPE_OF_RELATIONSHIP_TYPE, Direction.INCOMING)) {
+            final Node stripeNode = relationship.getStartNode();
+            if (((Number) stripeNode.getProperty(SUBREF_STRIPE_KEY)).intValue() == stripe) return stripeNode;
         }
+        return null;
+    }
+
+    /**
+     * The subreference node is only locked when one of its stripes is created, the lookup is repeated after the lock
+     * is acquired so concurrent transactions don't create the same stripe twice.
+     */
+    private Node obtainStripeNode(Node subReference, int stripe, Object alias) {
+        Node stripeNode = findStripeNode(subReference, stripe);
+        if (stripeNode != null) return stripeNode;
+        acquireWriteLock(subReference);
+        stripeNode = findStripeNode(subReference, stripe);
+        if (stripeNode != null) return stripeNode;
+        stripeNode = graphDatabase.createNode(null);
+        stripeNode.setProperty(SUBREF_STRIPE_KEY, stripe);
+        stripeNode.setProperty(SUBREF_CLASS_KEY, alias);
+        stripeNode.createRelationshipTo(subReference, STRIPE_OF_RELATIONSHIP_TYPE);
+        return stripeNode;
+    }
+
+    /**
+     * only writes the alias if it is not there yet, as writing a property locks the shared subreference node
+     */
+    private void setSubrefClass(Node subReference, StoredEntityType type) {
+        if (type.getAlias().equals(subReference.getProperty(SUBREF_CLASS_KEY, null))) return;
+        subReference.setProperty(SUBREF_CLASS_KEY, type.getAlias());
+    }
+
+    private static class CounterDelta {
+        private final Node node;
+        private int delta;
+
+        CounterDelta(Node node) {
+            this.node = node;
+        }
+    }
+
+    /**
+     * Without transaction synchronization the counters are updated directly.
+     */
+    private void updateCounter(Node counterNode, int delta) {
+        final Map<Long, CounterDelta> deltas = counterDeltasInTransaction.getOrCreate();
+        if (deltas == null) {
+            applyCounterDelta(counterNode, delta);
+            return;
+        }
+        CounterDelta counterDelta = deltas.get(counterNode.getId());
+        if (counterDelta == null) {
+            counterDelta = new CounterDelta(counterNode);
+            deltas.put(counterNode.getId(), counterDelta);
+        }
+        counterDelta.delta += delta;
+    }
+
+    private static Integer applyCounterDelta(Node node, int delta) {
+        if (delta == 0) return (Integer) node.getProperty(SUBREFERENCE_NODE_COUNTER_KEY, 0);
+        acquireWriteLock(node);
+        int value = (Integer) node.getProperty(SUBREFERENCE_NODE_COUNTER_KEY, 0) + delta;
+        value = value < 0 ? 0 : value;
+        node.setProperty(SUBREFERENCE_NODE_COUNTER_KEY, value);
+        return value;
+    }
+
+    private int countOf(Node counterNode, Map<Long, CounterDelta> deltas) {
+        final int count = (Integer) counterNode.getProperty(SUBREFERENCE_NODE_COUNTER_KEY, 0);
+        if (deltas == null) return count;
+        final CounterDelta counterDelta = deltas.get(counterNode.getId());
+        return counterDelta == null ? count : count + counterDelta.delta;
     }
 
 	@Override
     public long count(final StoredEntityType type) {
         final Node subrefNode = findSubreferenceNode(type);
         if (subrefNode == null) return 0;
-        return (Integer) subrefNode.getProperty(SUBREFERENCE_NODE_COUNTER_KEY, 0);
+        final Map<Long, CounterDelta> deltas = counterDeltasInTransaction.get();
+        long count = countOf(subrefNode, deltas);
+        for (Relationship relationship : subrefNode.getRelationships(STRIPE_OF_RELATIONSHIP_TYPE, Direction.INCOMING)) {
+            count += countOf(relationship.getStartNode(), deltas);
+        }
+        return count < 0 ? 0 : count;
     }
 
 	@Override
@@ -158,14 +289,17 @@ public class SubReferenceNodeTypeRepresentationStrategy implements NodeTypeRepre
         if (alias == null) return;
         final Node subReference = obtainSubreferenceNode(alias);
         Relationship instanceOf = state.getSingleRelationship(INSTANCE_OF_RELATIONSHIP_TYPE, Direction.OUTGOING);
+        final Node typeNode = instanceOf.getEndNode();
         instanceOf.delete();
         if (log.isDebugEnabled())
             log.debug("Removed link to subref node: " + subReference + " with alias: " + alias);
+        final boolean striped = !typeNode.equals(subReference);
+        final int stripe = striped ? ((Number) typeNode.getProperty(SUBREF_STRIPE_KEY)).intValue() : -1;
         TraversalDescription traversal = Traversal.description().depthFirst().relationships(SUBCLASS_OF_RELATIONSHIP_TYPE, Direction.OUTGOING);
         for (Node node : traversal.traverse(subReference).nodes()) {
-            Integer count = (Integer) node.getProperty(SUBREFERENCE_NODE_COUNTER_KEY);
-            Integer newCount = decrementAndGetCounter(node, SUBREFERENCE_NODE_COUNTER_KEY, 0);
-            if (log.isDebugEnabled()) log.debug("count on ref " + node + " was " + count + " new " + newCount);
+            // instances related by earlier versions were counted on the subreference nodes
+            final Node counterNode = striped ? findStripeNode(node, stripe) : node;
+            if (counterNode != null) updateCounter(counterNode, -1);
         }
     }
 
@@ -184,15 +318,21 @@ public class SubReferenceNodeTypeRepresentationStrategy implements NodeTypeRepre
             final List<Iterable<Node>> entityIterables = this.findEntityIterables(relationship.getStartNode());
             result.addAll(entityIterables);
 		}
-		Iterable<Node> t = new IterableWrapper<Node, Relationship>(subrefNode.getRelationships(INSTANCE_OF_RELATIONSHIP_TYPE, Direction.INCOMING)) {
+		result.add(findInstances(subrefNode));
+		for (Relationship relationship : subrefNode.getRelationships(STRIPE_OF_RELATIONSHIP_TYPE, Direction.INCOMING)) {
+            result.add(findInstances(relationship.getStartNode()));
+        }
+		return result;
+	}
+
+    private Iterable<Node> findInstances(Node typeNode) {
+        return new IterableWrapper<Node, Relationship>(typeNode.getRelationships(INSTANCE_OF_RELATIONSHIP_TYPE, Direction.INCOMING)) {
             @Override
             protected Node underlyingObjectToObject(final Relationship rel) {
                 return rel.getStartNode();
             }
         };
-		result.add(t);
-		return result;
-	}
+    }
 
 
 	public Node obtainSubreferenceNode(final StoredEntityType type) {
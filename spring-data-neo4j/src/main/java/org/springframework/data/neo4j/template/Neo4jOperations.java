@@ -32,7 +32,9 @@ import org.springframework.data.neo4j.mapping.MappingPolicy;
 import org.springframework.data.neo4j.repository.GraphRepository;
 import org.springframework.data.neo4j.support.query.QueryEngine;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * A template with convenience operations, exception translation and implicit transaction for modifying methods
@@ -53,6 +55,36 @@ public interface Neo4jOperations {
      */
     <T> T exec(GraphCallback<T> callback);
 
+    /**
+     * Executes the callback in its own transaction on the configured executor for asynchronous operations.
+     *
+     * @param callback for executing graph operations, not null
+     * @param <T>      return type
+     * @return future of whatever the callback chooses to return, lazy results have to be consumed within the callback
+     * @throws IllegalStateException if no executor for asynchronous operations is configured
+     */
+    <T> Future<T> execAsync(GraphCallback<T> callback);
+
+    /**
+     * Loads the entity in its own transaction on the executor for asynchronous operations.
+     * @see #findOne(long, Class)
+     */
+    <T> Future<T> findOneAsync(long id, Class<T> entityClass);
+
+    /**
+     * Saves the entity in its own transaction on the executor for asynchronous operations, the entity must not be
+     * modified until the returned future is done.
+     * @see #save(Object)
+     */
+    <T> Future<T> saveAsync(T entity);
+
+    /**
+     * Runs the cypher statement in its own transaction on the executor for asynchronous operations, the rows
+     * are read completely before the transaction finishes.
+     * @see #query(String, java.util.Map)
+     */
+    Future<List<Map<String, Object>>> queryAsync(String statement, Map<String, Object> params);
+
     <T> GraphRepository<T> repositoryFor(Class<T> clazz);
 
     /**
@@ -142,7 +174,11 @@ public interface Neo4jOperations {
 
 
     /**
-     * Retrieves an existing index for the given class and/or name
+     * Retrieves an existing index for the given class and/or name.
+     * With buffered index writes, the entries buffered in the current transaction are applied before the index is
+     * returned. Entries written afterwards, or reads through the {@link GraphDatabase} or the
+     * {@link org.springframework.data.neo4j.support.index.IndexProvider}, only see them after commit or the next
+     * lookup or query through this template.
      * @param indexName might be null
      * @param indexedType entity class, might be null
      * @return Index&lt;Node%gt; or Index&lt;Relationship&gt;
@@ -152,7 +188,8 @@ public interface Neo4jOperations {
 
     /**
      * The index determined by the property of the indexed type is returned, so all the customization
-     * via @Indexed annotations is taken into consideration.
+     * via @Indexed annotations is taken into consideration. Buffered index writes are applied as for
+     * {@link #getIndex(String, Class)}.
      */
     <T extends PropertyContainer> Index<T> getIndex(Class<?> indexedType, String propertyName);
 
@@ -254,6 +291,15 @@ public interface Neo4jOperations {
      */
     <T> T save(T entity);
 
+    /**
+     * Stores the given entities in batches of the given size. The entities of each batch are grouped by type and saved
+     * within one transaction, which is committed before the next batch is started unless an outer transaction is running.
+     * The provided entities are updated, they are not re-read from the graph.
+     *
+     * @return the saved entities in the order of the given ones
+     */
+    <T> Iterable<T> save(Iterable<T> entities, int batchSize);
+
     /**
      * Removes the given node or relationship entity or node or relationship from the graph, the entity is first removed
      * from all indexes and then deleted.
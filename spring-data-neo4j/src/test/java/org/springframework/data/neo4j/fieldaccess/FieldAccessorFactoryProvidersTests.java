@@ -0,0 +1,71 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.fieldaccess;
+
+import org.junit.Test;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class FieldAccessorFactoryProvidersTests {
+
+    private final Neo4jPersistentProperty property = mock(Neo4jPersistentProperty.class);
+    private final Neo4jPersistentProperty other = mock(Neo4jPersistentProperty.class);
+    private final FieldAccessorFactory accessorFactory = mock(FieldAccessorFactory.class);
+    private final FieldAccessorListenerFactory listenerFactory = mock(FieldAccessorListenerFactory.class);
+
+    @Test
+    public void testAccessorsAreCreatedOnceAndShared() throws Exception {
+        final FieldAccessor accessor = mock(FieldAccessor.class);
+        when(accessorFactory.forField(property)).thenReturn(accessor);
+        final FieldAccessorFactoryProviders<Object> providers = new FieldAccessorFactoryProviders<Object>();
+        providers.add(property, accessorFactory, Collections.<FieldAccessorListenerFactory>emptyList());
+
+        final Map<Neo4jPersistentProperty, FieldAccessor> accessors = providers.getFieldAccessors();
+        assertSame(accessor, accessors.get(property));
+        assertSame(accessors, providers.getFieldAccessors());
+        verify(accessorFactory, times(1)).forField(property);
+    }
+
+    @Test
+    public void testOnlyPropertiesWithListenersAreContained() throws Exception {
+        final FieldAccessListener listener = mock(FieldAccessListener.class);
+        when(listenerFactory.forField(property)).thenReturn(listener);
+        final FieldAccessorFactoryProviders<Object> providers = new FieldAccessorFactoryProviders<Object>();
+        providers.add(property, accessorFactory, Collections.singletonList(listenerFactory));
+        providers.add(other, accessorFactory, Collections.<FieldAccessorListenerFactory>emptyList());
+
+        final Map<Neo4jPersistentProperty, List<FieldAccessListener>> listeners = providers.getFieldAccessListeners();
+        assertEquals(Collections.singletonList(listener), listeners.get(property));
+        assertFalse(listeners.containsKey(other));
+        assertSame(listeners, providers.getFieldAccessListeners());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSharedAccessorsCannotBeModified() throws Exception {
+        final FieldAccessorFactoryProviders<Object> providers = new FieldAccessorFactoryProviders<Object>();
+        providers.getFieldAccessors().put(property, mock(FieldAccessor.class));
+    }
+}
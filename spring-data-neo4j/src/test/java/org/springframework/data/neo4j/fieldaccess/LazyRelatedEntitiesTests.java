@@ -0,0 +1,224 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.fieldaccess;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.helpers.collection.IteratorUtil;
+import org.springframework.data.neo4j.mapping.MappingPolicy;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.data.neo4j.template.GraphCallback;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class LazyRelatedEntitiesTests {
+
+    static class Person implements Serializable {
+        private final String name;
+
+        Person(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Person && name.equals(((Person) o).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+
+    static class Friend extends Person {
+        Friend(String name) {
+            super(name);
+        }
+    }
+
+    private final Neo4jTemplate template = mock(Neo4jTemplate.class);
+    private final RelationshipHelper relationshipHelper = mock(RelationshipHelper.class);
+    private final Node node = mock(Node.class);
+    private final Person michael = new Friend("Michael");
+    private final Person emil = new Person("Emil");
+    private final Person andres = new Friend("Andres");
+    private final MappingPolicy policy = MappingPolicy.LOAD_POLICY;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(template.exec(any(GraphCallback.class))).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                return ((GraphCallback<Object>) invocation.getArguments()[0]).doWithGraph(null);
+            }
+        });
+        final List<Relationship> relationships = new ArrayList<Relationship>();
+        long id = 0;
+        for (Person person : asList(michael, emil, andres)) {
+            final Node other = mock(Node.class);
+            final Relationship relationship = mock(Relationship.class);
+            when(relationship.getOtherNode(node)).thenReturn(other);
+            when(other.getId()).thenReturn(id);
+            when(template.getNode(id)).thenReturn(other);
+            when(template.getStoredJavaType(other)).thenReturn(person.getClass());
+            when(template.createEntityFromState(other, Person.class, policy)).thenReturn(person);
+            when(template.createEntityFromState(other, null, policy)).thenReturn(person);
+            relationships.add(relationship);
+            id++;
+        }
+        when(relationshipHelper.getRelationships(node)).thenReturn(relationships);
+    }
+
+    private LazyRelatedEntities<Person> entities() {
+        return new LazyRelatedEntities<Person>(node, relationshipHelper, Person.class, null, template, policy);
+    }
+
+    private LazyRelatedEntities<Person> friends() {
+        return new LazyRelatedEntities<Person>(node, relationshipHelper, null, Friend.class, template, policy);
+    }
+
+    @Test
+    public void testIteratesAllRelatedEntities() throws Exception {
+        assertEquals(asList(michael, emil, andres), IteratorUtil.asCollection(entities()));
+        assertEquals(3, entities().size());
+        assertFalse(entities().isEmpty());
+        assertEquals(asList(emil), entities().slice(1, 1));
+    }
+
+    @Test
+    public void testOnlyIncludesEntitiesOfEnforcedTargetType() throws Exception {
+        assertEquals(asList(michael, andres), IteratorUtil.asCollection(friends()));
+        assertEquals(2, friends().size());
+        assertEquals(asList(andres), friends().slice(1, 5));
+    }
+
+    @Test
+    public void testCanBeIteratedRepeatedly() throws Exception {
+        final LazyRelatedEntities<Person> entities = entities();
+        assertEquals(asList(michael, emil, andres), IteratorUtil.asCollection(entities));
+        assertEquals(asList(michael, emil, andres), IteratorUtil.asCollection(entities));
+        verify(relationshipHelper, times(2)).getRelationships(node);
+    }
+
+    @Test
+    public void testIsSerializedAsSetOfRelatedEntities() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(friends());
+        out.close();
+        final Object value = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertEquals(new LinkedHashSet<Person>(asList(michael, andres)), value);
+    }
+
+    @Test
+    public void testStreamsRelationshipsWhileIterating() throws Exception {
+        final Node hub = mock(Node.class);
+        final Relationship relationship = mock(Relationship.class);
+        when(relationship.getOtherNode(hub)).thenReturn(node);
+        final int[] read = new int[1];
+        final Iterable<Relationship> relationships = new Iterable<Relationship>() {
+            @Override
+            public Iterator<Relationship> iterator() {
+                return new Iterator<Relationship>() {
+                    @Override
+                    public boolean hasNext() {
+                        return read[0] < 1000;
+                    }
+
+                    @Override
+                    public Relationship next() {
+                        read[0]++;
+                        return relationship;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+        when(relationshipHelper.getRelationships(hub)).thenReturn(relationships);
+        when(template.createEntityFromState(node, Person.class, policy)).thenReturn(emil);
+
+        final Iterator<Person> iterator = new LazyRelatedEntities<Person>(hub, relationshipHelper, Person.class, null, template, policy).iterator();
+        assertEquals("nothing is read before iterating", 0, read[0]);
+        assertEquals(emil, iterator.next());
+        assertTrue("only the first batch is read", read[0] < 1000);
+        int count = 1;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        assertEquals(1000, count);
+        verify(relationshipHelper, times(1)).getRelationships(hub);
+        verify(template, never()).getNode(anyLong());
+    }
+
+    @Test
+    public void testContainsComparesRelatedNodes() throws Exception {
+        final Node michaelNode = template.getNode(0);
+        final Node emilNode = template.getNode(1);
+        final Node unrelatedNode = mock(Node.class);
+        when(template.getPersistentState(michael)).thenReturn(michaelNode);
+        when(template.getPersistentState(emil)).thenReturn(emilNode);
+        when(template.getPersistentState(andres)).thenReturn(unrelatedNode);
+        assertTrue(entities().contains(emil));
+        assertFalse(entities().contains(andres));
+        assertFalse(friends().contains(emil));
+        assertTrue(friends().contains(michael));
+        verify(template, never()).createEntityFromState(any(Node.class), any(Class.class), any(MappingPolicy.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMapsRelationshipEntities() throws Exception {
+        final Person friendship = new Person("friendship");
+        final List<Relationship> relationships = (List<Relationship>) relationshipHelper.getRelationships(node);
+        when(template.createEntityFromState(relationships.get(1), Person.class, policy)).thenReturn(friendship);
+        final LazyRelatedEntities<Person> friendships = LazyRelatedEntities.relationshipEntities(node, relationshipHelper, Person.class, template, policy);
+        assertEquals(3, friendships.size());
+        assertEquals(asList(friendship), friendships.slice(1, 1));
+        when(template.getPersistentState(friendship)).thenReturn(relationships.get(1));
+        assertTrue(friendships.contains(friendship));
+    }
+}
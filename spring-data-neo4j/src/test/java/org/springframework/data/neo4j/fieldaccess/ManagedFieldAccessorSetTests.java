@@ -0,0 +1,142 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.fieldaccess;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.neo4j.mapping.MappingPolicy;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class ManagedFieldAccessorSetTests {
+
+    private final Object entity = new Object();
+    private final Neo4jTemplate template = mock(Neo4jTemplate.class);
+    private final Neo4jPersistentProperty property = mock(Neo4jPersistentProperty.class);
+    private final CollectionElementFieldAccessor fieldAccessor = mock(CollectionElementFieldAccessor.class);
+    private final Set<String> values = new HashSet<String>(asList("a", "b"));
+    private final ManagedFieldAccessorSet<String> set = ManagedFieldAccessorSet.create(entity, values, MappingPolicy.DEFAULT_POLICY, property, template, fieldAccessor);
+
+    @Before
+    public void setUp() throws Exception {
+        when(fieldAccessor.isWriteable(entity)).thenReturn(true);
+    }
+
+    @Test
+    public void testAddWritesOnlyAddedElement() throws Exception {
+        set.add("c");
+        assertFalse(set.add("c"));
+        verify(fieldAccessor, times(1)).addElement(entity, "c");
+        verify(fieldAccessor, never()).setValue(any(), any(), any(MappingPolicy.class));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    public void testRemoveWritesOnlyRemovedElements() throws Exception {
+        set.remove("a");
+        set.removeAll(asList("b", "x"));
+        final Iterator<String> iterator = set.iterator();
+        assertFalse(iterator.hasNext());
+        verify(fieldAccessor).removeElement(entity, "a");
+        verify(fieldAccessor).removeElement(entity, "b");
+        verify(fieldAccessor, never()).removeElement(entity, "x");
+        verify(fieldAccessor, never()).setValue(any(), any(), any(MappingPolicy.class));
+    }
+
+    @Test
+    public void testIteratorRemoveWritesRemovedElement() throws Exception {
+        final Iterator<String> iterator = set.iterator();
+        final String first = iterator.next();
+        iterator.remove();
+        verify(fieldAccessor).removeElement(entity, first);
+    }
+
+    @Test
+    public void testReadOnlyFieldIsNotWrittenPerElement() throws Exception {
+        when(fieldAccessor.isWriteable(entity)).thenReturn(false);
+        when(fieldAccessor.setValue(any(), any(), any(MappingPolicy.class))).thenThrow(new InvalidDataAccessApiUsageException("Cannot set read-only relationship entity field."));
+        try {
+            set.add("c");
+            fail("read-only field must not be modified");
+        } catch (InvalidDataAccessApiUsageException expected) {
+        }
+        try {
+            set.remove("a");
+            fail("read-only field must not be modified");
+        } catch (InvalidDataAccessApiUsageException expected) {
+        }
+        verify(fieldAccessor, never()).addElement(any(), any());
+        verify(fieldAccessor, never()).removeElement(any(), any());
+    }
+
+    @Test
+    public void testClearWritesWholeCollection() throws Exception {
+        set.clear();
+        verify(fieldAccessor).setValue(entity, values, MappingPolicy.DEFAULT_POLICY);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testElementWritesDoNotLoadLazySet() throws Exception {
+        final LazyRelatedEntities<String> relatedEntities = mock(LazyRelatedEntities.class);
+        when(relatedEntities.contains("a")).thenReturn(true);
+        final LazyRelatedEntitySet<String> lazySet = new LazyRelatedEntitySet<String>(relatedEntities);
+        final ManagedFieldAccessorSet<String> set = ManagedFieldAccessorSet.create(entity, lazySet, MappingPolicy.DEFAULT_POLICY, property, template, fieldAccessor);
+
+        assertTrue(set.add("c"));
+        assertFalse(set.add("a"));
+        assertTrue(set.remove("a"));
+        assertFalse(set.remove("x"));
+
+        verify(fieldAccessor).addElement(entity, "c");
+        verify(fieldAccessor, never()).addElement(entity, "a");
+        verify(fieldAccessor).removeElement(entity, "a");
+        verify(fieldAccessor, never()).removeElement(entity, "x");
+        verify(relatedEntities, never()).iterator();
+        assertFalse(lazySet.isLoaded());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testWholeCollectionWriteLoadsLazySet() throws Exception {
+        final LazyRelatedEntities<String> relatedEntities = mock(LazyRelatedEntities.class);
+        when(relatedEntities.iterator()).thenReturn(asList("a", "b").iterator());
+        final LazyRelatedEntitySet<String> lazySet = new LazyRelatedEntitySet<String>(relatedEntities);
+        final ManagedFieldAccessorSet<String> set = ManagedFieldAccessorSet.create(entity, lazySet, MappingPolicy.DEFAULT_POLICY, property, template, fieldAccessor);
+
+        assertTrue(set.retainAll(asList("a")));
+        assertTrue(lazySet.isLoaded());
+        verify(fieldAccessor).setValue(entity, lazySet, MappingPolicy.DEFAULT_POLICY);
+        assertEquals(new HashSet<String>(asList("a")), lazySet);
+    }
+}
@@ -25,6 +25,8 @@ import org.springframework.data.neo4j.support.mapping.Neo4jMappingContext;
 import org.springframework.data.neo4j.support.mapping.Neo4jPersistentEntityImpl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 /**
  * @author mh
@@ -57,6 +59,15 @@ public class Neo4jMappingContextTests {
         assertEquals(false,nameProperty.isRelationship());
     }
 
+    @Test
+    public void testLookupByAlias() {
+        assertSame(personType, mappingContext.getPersistentEntity((Object) personType.getEntityType().getAlias()));
+        assertSame(personType, mappingContext.getPersistentEntity((Object) Person.class.getName()));
+        assertSame(personType, mappingContext.getPersistentEntity((Object) Person.class));
+        assertNull(mappingContext.getPersistentEntity((Object) "org.example.Unknown"));
+        assertNull(mappingContext.getPersistentEntity((Object) "org.example.Unknown"));
+    }
+
     @Test(expected = MappingException.class)
     public void testPrimitiveGraphIdFails() {
         mappingContext.getPersistentEntity(PrimitiveIdEntity.class);
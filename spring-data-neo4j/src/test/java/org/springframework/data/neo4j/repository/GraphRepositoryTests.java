@@ -22,6 +22,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.neo4j.graphdb.GraphDatabaseService;
 import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.ResourceIterator;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.helpers.collection.IteratorUtil;
 import org.slf4j.Logger;
@@ -160,6 +161,16 @@ public class GraphRepositoryTests {
         assertThat(asCollection(allPersons), hasItems(testTeam.michael, testTeam.david, testTeam.emil));
     }
 
+    @Test
+    @Transactional
+    public void findAllByIdsSkipsMissingIds() {
+        final Long missingId = Long.MAX_VALUE;
+        Iterable<Person> persons = personRepository.findAll(asList(testTeam.emil.getId(), missingId, testTeam.michael.getId(), testTeam.emil.getId()), true);
+        assertEquals(asList(testTeam.emil, testTeam.michael, testTeam.emil), asCollection(persons));
+        persons = personRepository.findAll(asList(missingId, testTeam.david.getId()), false);
+        assertEquals(asList(testTeam.david), asCollection(persons));
+    }
+
     @Test
     @Transactional
     public void findAllSortedAscending() {
@@ -205,12 +216,82 @@ public class GraphRepositoryTests {
         assertEquals (asList(testTeam.david), asCollection(page3Result));
     }
 
+    @Test  @Transactional
+    public void findAllPageableDetectsFurtherPagesWithoutCounting() {
+        Sort sort = new Sort(Sort.Direction.DESC, "name");
+        Page<Person> page1 = personRepository.findAll(new PageRequest(0, 2, sort), false);
+        assertEquals(asList(testTeam.michael, testTeam.emil), page1.getContent());
+        assertThat(page1.hasNextPage(), is(true));
+        assertEquals(3, page1.getTotalElements());
+
+        Page<Person> page2 = personRepository.findAll(new PageRequest(1, 2, sort), false);
+        assertEquals(asList(testTeam.david), page2.getContent());
+        assertThat(page2.hasNextPage(), is(false));
+        assertEquals(3, page2.getTotalElements());
+
+        Page<Person> firstOfThree = personRepository.findAll(new PageRequest(0, 1, sort), false);
+        assertEquals(asList(testTeam.michael), firstOfThree.getContent());
+        assertThat(firstOfThree.hasNextPage(), is(true));
+        assertEquals(2, firstOfThree.getTotalElements());
+    }
+
+    @Test  @Transactional
+    public void findAllPageableCountsTotalIfRequested() {
+        Sort sort = new Sort(Sort.Direction.DESC, "name");
+        Page<Person> page = personRepository.findAll(new PageRequest(0, 1, sort), true);
+        assertEquals(asList(testTeam.michael), page.getContent());
+        assertEquals(3, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+    }
+
+    @Test  @Transactional
+    public void findAllPageableCountsTotalBehindLastPage() {
+        Page<Person> page = personRepository.findAll(new PageRequest(5, 1), false);
+        assertThat(page.getContent().isEmpty(), is(true));
+        assertEquals(3, page.getTotalElements());
+    }
+
     @Test @Transactional
     public void testFindIterableOfPersonWithQueryAnnotation() {
         Iterable<Person> teamMembers = personRepository.findAllTeamMembers(testTeam.sdg);
         assertThat( asCollection( teamMembers ), hasItems( testTeam.michael, testTeam.david, testTeam.emil ) );
     }
 
+    @Test @Transactional
+    public void testStreamPersonsWithQueryAnnotation() {
+        final ResourceIterator<Person> teamMembers = personRepository.streamAllTeamMembers(testTeam.sdg);
+        try {
+            assertThat(asCollection(teamMembers), hasItems(testTeam.michael, testTeam.david, testTeam.emil));
+            assertThat(teamMembers.hasNext(), is(false));
+        } finally {
+            teamMembers.close();
+        }
+    }
+
+    @Test
+    public void testStreamJoinsTransactionOfCaller() {
+        final ResourceIterator<Person> teamMembers = new TransactionTemplate(transactionManager).execute(new TransactionCallback<ResourceIterator<Person>>() {
+            @Override
+            public ResourceIterator<Person> doInTransaction(TransactionStatus status) {
+                final ResourceIterator<Person> teamMembers = personRepository.streamAllTeamMembers(testTeam.sdg);
+                assertThat(teamMembers.hasNext(), is(true));
+                teamMembers.next();
+                return teamMembers;
+            }
+        });
+        assertThat("closed when the transaction completed", teamMembers.hasNext(), is(false));
+        assertThat(neo4jTemplate.transactionIsRunning(), is(false));
+    }
+
+    @Test
+    public void testStreamOutsideOfTransactionIsFinishedOnClose() {
+        final ResourceIterator<Person> teamMembers = personRepository.streamAllTeamMembers(testTeam.sdg);
+        assertThat(neo4jTemplate.transactionIsRunning(), is(true));
+        assertThat(teamMembers.next(), notNullValue());
+        teamMembers.close();
+        assertThat(neo4jTemplate.transactionIsRunning(), is(false));
+    }
+
     @Test @Transactional
     public void testFindIterableOfPersonWithQueryAnnotationSpatial() {
         Iterable<Person> teamMembers = personRepository.findWithinBoundingBox("personLayer", 55, 15, 57, 17);
@@ -16,6 +16,7 @@
 
 package org.springframework.data.neo4j.repository;
 
+import org.neo4j.graphdb.ResourceIterator;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -43,6 +44,9 @@ public interface PersonRepository extends GraphRepository<Person>, NamedIndexRep
     @Query("start team=node({p_team}) match (team)-[:persons]->(member) return member")
     Iterable<Person> findAllTeamMembers(@Param("p_team") Group team);
 
+    @Query("start team=node({p_team}) match (team)-[:persons]->(member) return member")
+    ResourceIterator<Person> streamAllTeamMembers(@Param("p_team") Group team);
+
     @Query("start team=node({p_team}) match (team)-[:persons]->(member) return member.name,member.age")
     Iterable<Map<String, Object>> findAllTeamMemberData(@Param("p_team") Group team);
 
@@ -167,6 +167,13 @@ public abstract class AbstractCypherQueryBuilderTestBase {
         assertThat(queryString, is("START `person`=node:`Person`(`name`={0}) RETURN `person` ORDER BY person.name ASC SKIP 30 LIMIT 10"));
     }
 
+    @Test
+    public void buildsPagedQueryWithSkipAndLimitParameters() {
+        query.addRestriction(new Part("name",Person.class));
+        String queryString = query.buildQuery().toPagedQueryString(new Sort("person.name"));
+        assertThat(queryString, is("START `person`=node:`Person`(`name`={0}) RETURN `person` ORDER BY person.name ASC SKIP {_skip} LIMIT {_limit}"));
+    }
+
     @Test
     public void shouldFindByNodeEntity() throws Exception {
         query.addRestriction(new Part("pet", Person.class));
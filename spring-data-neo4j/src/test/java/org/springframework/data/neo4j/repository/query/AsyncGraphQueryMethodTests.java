@@ -0,0 +1,153 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.repository.query;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.neo4j.annotation.Query;
+import org.springframework.data.neo4j.annotation.QueryType;
+import org.springframework.data.neo4j.conversion.EndResult;
+import org.springframework.data.neo4j.conversion.Result;
+import org.springframework.data.neo4j.repository.GraphRepository;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.data.neo4j.support.mapping.Neo4jMappingContext;
+import org.springframework.data.neo4j.support.query.QueryEngine;
+import org.springframework.data.neo4j.template.GraphCallback;
+import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
+
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class AsyncGraphQueryMethodTests {
+
+    private static final String QUERY = "start n=node(*) return n";
+
+    interface AsyncPersonRepository extends GraphRepository<Person> {
+        @Query(QUERY)
+        Future<List<Person>> findMembers();
+
+        @Query(QUERY)
+        Future<Iterable<Person>> findIterableMembers();
+
+        @Query(QUERY)
+        Future<Person> findMember();
+
+        @Query(QUERY)
+        Future<EndResult<Person>> findLazyMembers();
+
+        @Query(QUERY)
+        Future<Iterator<Person>> findIteratedMembers();
+    }
+
+    private final Neo4jTemplate template = mock(Neo4jTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final QueryEngine<Object> queryEngine = mock(QueryEngine.class);
+    @SuppressWarnings("unchecked")
+    private final Result<Object> result = mock(Result.class);
+    @SuppressWarnings("unchecked")
+    private final EndResult<Object> persons = mock(EndResult.class);
+    private final Person michael = new Person();
+    private final Person emil = new Person();
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(template.queryEngineFor(QueryType.Cypher)).thenReturn(queryEngine);
+        when(queryEngine.query(eq(QUERY), anyMapOf(String.class, Object.class))).thenReturn(result);
+        when(result.to((Class) Person.class)).thenReturn(persons);
+        when(persons.iterator()).thenReturn(asList((Object) michael, emil).iterator());
+        when(persons.singleOrNull()).thenReturn(michael);
+        when(template.execAsync(any(GraphCallback.class))).thenAnswer(new Answer<Future<Object>>() {
+            @Override
+            public Future<Object> answer(InvocationOnMock invocation) throws Throwable {
+                final GraphCallback<Object> callback = (GraphCallback<Object>) invocation.getArguments()[0];
+                final FutureTask<Object> task = new FutureTask<Object>(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        return callback.doWithGraph(null);
+                    }
+                });
+                task.run();
+                return task;
+            }
+        });
+    }
+
+    private GraphQueryMethod queryMethod(String name) throws NoSuchMethodException {
+        final Method method = AsyncPersonRepository.class.getMethod(name);
+        return new GraphQueryMethod(method, new DefaultRepositoryMetadata(AsyncPersonRepository.class), null, mock(Neo4jMappingContext.class));
+    }
+
+    private Object execute(String name) throws Exception {
+        final Object value = new CypherGraphRepositoryQuery(queryMethod(name), template).execute(new Object[0]);
+        verify(template).execAsync(any(GraphCallback.class));
+        return ((Future<?>) value).get();
+    }
+
+    @Test
+    public void testListResultIsReadWithinAsyncTransaction() throws Exception {
+        final GraphQueryMethod queryMethod = queryMethod("findMembers");
+        assertTrue(queryMethod.isAsyncResult());
+        assertEquals(List.class, queryMethod.getReturnType());
+        assertEquals(asList(michael, emil), execute("findMembers"));
+    }
+
+    @Test
+    public void testIterableResultIsReadWithinAsyncTransaction() throws Exception {
+        final Object members = execute("findIterableMembers");
+        assertNotSame(persons, members);
+        assertEquals(asList(michael, emil), members);
+    }
+
+    @Test
+    public void testSingleResult() throws Exception {
+        assertSame(michael, execute("findMember"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testLazyEndResultIsRejected() throws Exception {
+        queryMethod("findLazyMembers");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testLazyIteratorIsRejected() throws Exception {
+        queryMethod("findIteratedMembers");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFailsWithoutExecutor() throws Exception {
+        reset(template);
+        when(template.execAsync(any(GraphCallback.class))).thenThrow(new IllegalStateException("No executor for asynchronous operations configured"));
+        new CypherGraphRepositoryQuery(queryMethod("findMembers"), template).execute(new Object[0]);
+    }
+}
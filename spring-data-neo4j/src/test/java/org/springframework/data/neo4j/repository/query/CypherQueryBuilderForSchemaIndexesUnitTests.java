@@ -0,0 +1,82 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.repository.query;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.data.neo4j.support.Infrastructure;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.data.neo4j.support.mapping.Neo4jMappingContext;
+import org.springframework.data.neo4j.support.typerepresentation.LabelBasedNodeTypeRepresentationStrategy;
+import org.springframework.data.repository.query.parser.Part;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link CypherQueryBuilder} with the Label Type Representation Strategy and schema indexes enabled.
+ *
+ * @author mh
+ * @since 16.10.26
+ */
+public class CypherQueryBuilderForSchemaIndexesUnitTests {
+
+    private CypherQueryBuilder query;
+
+    @Before
+    public void setUp() {
+        Neo4jMappingContext context = new Neo4jMappingContext();
+        Neo4jTemplate template = Mockito.mock(Neo4jTemplate.class);
+        Infrastructure inf = Mockito.mock(Infrastructure.class);
+        when(template.getInfrastructure()).thenReturn(inf);
+        when(inf.getNodeTypeRepresentationStrategy()).thenReturn(Mockito.mock(LabelBasedNodeTypeRepresentationStrategy.class));
+        when(inf.isSchemaIndexesEnabled()).thenReturn(true);
+        this.query = new CypherQueryBuilder(context, Person.class, template);
+    }
+
+    @Test
+    public void matchesIndexedPropertyByLabel() {
+        query.addRestriction(new Part("name", Person.class));
+        assertThat(query.toString(), is(" MATCH (`person`:`Person`) WHERE `person`.`name` = {0} RETURN `person`"));
+    }
+
+    @Test
+    public void keepsFullTextIndexQueries() {
+        query.addRestriction(new Part("titleLike", Person.class));
+        assertThat(query.toString(), is("START `person`=node:`title`({0}) RETURN `person`"));
+    }
+
+    @Test
+    public void keepsIndexLookupsOfRelatedEntities() {
+        query.addRestriction(new Part("name", Person.class));
+        query.addRestriction(new Part("group.name", Person.class));
+        assertThat(query.toString(), is("START `person_group`=node:`Group`(`name`={1}) " +
+                "MATCH (`person`)<-[:`members`]-(`person_group`) " +
+                "WHERE `person`.`name` = {0} " +
+                "RETURN `person`"));
+    }
+
+    @Test
+    public void matchesLabelBeforeTraversals() {
+        query.addRestriction(new Part("name", Person.class));
+        query.addRestriction(new Part("groupMembersAge", Person.class));
+        assertThat(query.toString(), is(" MATCH (`person`:`Person`), (`person`)<-[:`members`]-(`person_group`)-[:`members`]->(`person_group_members`) " +
+                "WHERE `person`.`name` = {0} AND `person_group_members`.`age` = {1} " +
+                "RETURN `person`"));
+    }
+}
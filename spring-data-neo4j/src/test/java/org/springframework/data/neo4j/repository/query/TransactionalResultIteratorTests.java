@@ -0,0 +1,128 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.repository.query;
+
+import org.junit.Test;
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.graphdb.Transaction;
+import org.springframework.data.neo4j.conversion.EndResult;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class TransactionalResultIteratorTests {
+
+    @SuppressWarnings("unchecked")
+    private final EndResult<String> result = mock(EndResult.class);
+    @SuppressWarnings("unchecked")
+    private final ResourceIterator<String> rows = mock(ResourceIterator.class);
+    private final Transaction tx = mock(Transaction.class);
+
+    @Test
+    public void testReleasesResourcesWhenExhausted() throws Exception {
+        when(result.iterator()).thenReturn(Arrays.asList("a", "b").iterator());
+        final TransactionalResultIterator<String> iterator = new TransactionalResultIterator<String>(result, tx);
+        verifyZeroInteractions(tx);
+        assertEquals("a", iterator.next());
+        assertEquals("b", iterator.next());
+        assertFalse(iterator.hasNext());
+        assertFalse(iterator.hasNext());
+        verify(result, times(1)).finish();
+        verify(tx, times(1)).success();
+        verify(tx, times(1)).finish();
+    }
+
+    @Test
+    public void testClosesUnderlyingIteratorWhenClosedEarly() throws Exception {
+        when(result.iterator()).thenReturn(rows);
+        when(rows.hasNext()).thenReturn(true);
+        when(rows.next()).thenReturn("a");
+        final TransactionalResultIterator<String> iterator = new TransactionalResultIterator<String>(result, tx);
+        assertEquals("a", iterator.next());
+        iterator.close();
+        iterator.close();
+        assertFalse(iterator.hasNext());
+        verify(rows, times(1)).close();
+        verify(tx, times(1)).finish();
+    }
+
+    @Test
+    public void testOnlyReleasesResultWhenJoiningTransaction() throws Exception {
+        when(result.iterator()).thenReturn(rows);
+        final TransactionalResultIterator<String> iterator = new TransactionalResultIterator<String>(result, null);
+        iterator.close();
+        verify(rows).close();
+        verify(result).finish();
+    }
+
+    @Test
+    public void testMarksTransactionFailedOnError() throws Exception {
+        when(result.iterator()).thenReturn(rows);
+        when(rows.hasNext()).thenThrow(new IllegalStateException("broken"));
+        final TransactionalResultIterator<String> iterator = new TransactionalResultIterator<String>(result, tx);
+        try {
+            iterator.hasNext();
+            fail("expected exception");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        verify(tx).failure();
+        verify(tx, never()).success();
+        verify(rows).close();
+        verify(tx).finish();
+    }
+
+    @Test
+    public void testFailsWhenUsedAfterJoinedTransactionCompleted() throws Exception {
+        when(result.iterator()).thenReturn(rows);
+        when(rows.hasNext()).thenReturn(true);
+        when(rows.next()).thenReturn("a");
+        final TransactionalResultIterator<String> iterator = new TransactionalResultIterator<String>(result, null);
+        assertEquals("a", iterator.next());
+        iterator.expire();
+        verify(rows).close();
+        verify(result).finish();
+        try {
+            iterator.hasNext();
+            fail("expected exception");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        try {
+            iterator.next();
+            fail("expected exception");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testExhaustedIteratorIsNotExpired() throws Exception {
+        when(result.iterator()).thenReturn(Arrays.asList("a").iterator());
+        final TransactionalResultIterator<String> iterator = new TransactionalResultIterator<String>(result, null);
+        assertEquals("a", iterator.next());
+        assertFalse(iterator.hasNext());
+        iterator.expire();
+        assertFalse(iterator.hasNext());
+        verify(result, times(1)).finish();
+    }
+}
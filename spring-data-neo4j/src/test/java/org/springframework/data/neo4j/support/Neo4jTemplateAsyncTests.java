@@ -0,0 +1,134 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.neo4j.conversion.Result;
+import org.springframework.data.neo4j.core.GraphDatabase;
+import org.springframework.data.neo4j.template.GraphCallback;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class Neo4jTemplateAsyncTests {
+
+    private static final String QUERY = "start n=node(*) return n.name as name";
+
+    private final Infrastructure infrastructure = mock(Infrastructure.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TransactionStatus status = mock(TransactionStatus.class);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private Neo4jTemplate template;
+
+    @Before
+    public void setUp() throws Exception {
+        when(infrastructure.getTransactionManager()).thenReturn(transactionManager);
+        when(infrastructure.getAsyncExecutor()).thenReturn(executor);
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(status);
+        template = spy(new Neo4jTemplate(infrastructure));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testExecAsyncRunsInOwnTransactionOnExecutor() throws Exception {
+        final Thread caller = Thread.currentThread();
+        final Thread worker = template.execAsync(new GraphCallback<Thread>() {
+            @Override
+            public Thread doWithGraph(GraphDatabase graph) throws Exception {
+                return Thread.currentThread();
+            }
+        }).get(5, TimeUnit.SECONDS);
+        assertNotSame(caller, worker);
+        verify(transactionManager).getTransaction(any(TransactionDefinition.class));
+        verify(transactionManager).commit(status);
+    }
+
+    @Test
+    public void testFailureOfExecAsyncIsRethrownOnGet() throws Exception {
+        try {
+            template.execAsync(new GraphCallback<Object>() {
+                @Override
+                public Object doWithGraph(GraphDatabase graph) throws Exception {
+                    throw new IllegalStateException("failed");
+                }
+            }).get(5, TimeUnit.SECONDS);
+            fail("expected exception");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof IllegalStateException);
+        }
+        verify(transactionManager).rollback(status);
+    }
+
+    @Test
+    public void testFindOneAsync() throws Exception {
+        doReturn("Michael").when(template).findOne(1L, String.class);
+        assertEquals("Michael", template.findOneAsync(1L, String.class).get(5, TimeUnit.SECONDS));
+        verify(transactionManager).commit(status);
+    }
+
+    @Test
+    public void testSaveAsync() throws Exception {
+        doReturn("saved").when(template).save("Michael");
+        assertEquals("saved", template.saveAsync("Michael").get(5, TimeUnit.SECONDS));
+        verify(transactionManager).commit(status);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testQueryAsyncReadsRowsWithinTransaction() throws Exception {
+        final Map<String, Object> params = Collections.emptyMap();
+        final Map<String, Object> michael = Collections.<String, Object>singletonMap("name", "Michael");
+        final Map<String, Object> emil = Collections.<String, Object>singletonMap("name", "Emil");
+        final Result<Map<String, Object>> result = mock(Result.class);
+        when(result.iterator()).thenReturn(asList(michael, emil).iterator());
+        doReturn(result).when(template).query(QUERY, params);
+
+        final List<Map<String, Object>> rows = template.queryAsync(QUERY, params).get(5, TimeUnit.SECONDS);
+        assertEquals(asList(michael, emil), rows);
+        verify(result).finish();
+        verify(transactionManager).commit(status);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAsyncOperationsRequireExecutor() throws Exception {
+        when(infrastructure.getAsyncExecutor()).thenReturn(null);
+        template.findOneAsync(1L, String.class);
+    }
+}
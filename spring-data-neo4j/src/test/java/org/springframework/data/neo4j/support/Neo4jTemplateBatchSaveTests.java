@@ -0,0 +1,125 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.neo4j.graphdb.RelationshipType;
+import org.springframework.data.neo4j.mapping.MappingPolicy;
+import org.springframework.data.neo4j.support.mapping.Neo4jEntityPersister;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class Neo4jTemplateBatchSaveTests {
+
+    private final Infrastructure infrastructure = mock(Infrastructure.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TransactionStatus status = mock(TransactionStatus.class);
+    private final Neo4jEntityPersister entityPersister = mock(Neo4jEntityPersister.class);
+    private Neo4jTemplate template;
+
+    @Before
+    public void setUp() throws Exception {
+        when(infrastructure.getTransactionManager()).thenReturn(transactionManager);
+        when(infrastructure.getEntityPersister()).thenReturn(entityPersister);
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(status);
+        template = spy(new Neo4jTemplate(infrastructure));
+        doReturn(false).when(template).isRelationshipEntity(String.class);
+        doReturn(true).when(template).isRelationshipEntity(Integer.class);
+        doReturn(MappingPolicy.DEFAULT_POLICY).when(template).getMappingPolicy(any(Class.class));
+        // the persister returns a different instance than the one passed in
+        when(entityPersister.persist(any(), any(MappingPolicy.class), any(Neo4jTemplate.class), any(RelationshipType.class), eq(false))).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                final Object entity = invocation.getArguments()[0];
+                return entity instanceof String ? "saved " + entity : ((Integer) entity) * 10;
+            }
+        });
+    }
+
+    private Iterable<Object> once(final Object... entities) {
+        return new Iterable<Object>() {
+            private boolean iterated;
+
+            @Override
+            public Iterator<Object> iterator() {
+                assertFalse("iterated twice", iterated);
+                iterated = true;
+                return asList(entities).iterator();
+            }
+        };
+    }
+
+    @Test
+    public void testReturnsSavedEntitiesInOrder() throws Exception {
+        final Iterable<Object> saved = template.save(once("a", 1, "b"), 10);
+        assertEquals(asList((Object) "saved a", 10, "saved b"), saved);
+    }
+
+    @Test
+    public void testSavesNodeEntitiesFirstWithinBatch() throws Exception {
+        template.save(once(1, "a"), 10);
+        final InOrder inOrder = inOrder(entityPersister);
+        inOrder.verify(entityPersister).persist(eq("a"), any(MappingPolicy.class), any(Neo4jTemplate.class), any(RelationshipType.class), anyBoolean());
+        inOrder.verify(entityPersister).persist(eq(1), any(MappingPolicy.class), any(Neo4jTemplate.class), any(RelationshipType.class), anyBoolean());
+    }
+
+    @Test
+    public void testCommitsEachBatch() throws Exception {
+        final Iterable<Object> saved = template.save(once("a", "b", "c", "d", "e"), 2);
+        assertEquals(5, ((List<?>) saved).size());
+        verify(transactionManager, times(3)).getTransaction(any(TransactionDefinition.class));
+        verify(transactionManager, times(3)).commit(status);
+        verify(entityPersister, times(5)).persist(any(), any(MappingPolicy.class), any(Neo4jTemplate.class), any(RelationshipType.class), eq(false));
+    }
+
+    @Test
+    public void testFailureRollsBackOnlyCurrentBatch() throws Exception {
+        when(entityPersister.persist(eq("c"), any(MappingPolicy.class), any(Neo4jTemplate.class), any(RelationshipType.class), eq(false))).thenThrow(new IllegalStateException("failed"));
+        try {
+            template.save(once("a", "b", "c", "d", "e"), 2);
+            fail("expected exception");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        verify(transactionManager, times(1)).commit(status);
+        verify(transactionManager, times(1)).rollback(status);
+        verify(entityPersister, never()).persist(eq("e"), any(MappingPolicy.class), any(Neo4jTemplate.class), any(RelationshipType.class), anyBoolean());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsInvalidBatchSize() throws Exception {
+        template.save(once("a"), 0);
+    }
+}
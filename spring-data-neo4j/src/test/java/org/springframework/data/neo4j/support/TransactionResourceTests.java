@@ -0,0 +1,108 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class TransactionResourceTests {
+
+    private final List<String> events = new ArrayList<String>();
+    private final TransactionResource<List<String>> resource = new TransactionResource<List<String>>() {
+        @Override
+        protected List<String> create() {
+            return new ArrayList<String>();
+        }
+
+        @Override
+        protected void beforeCommit(List<String> value, boolean readOnly) {
+            events.add("beforeCommit " + value);
+        }
+
+        @Override
+        protected void afterCommit(List<String> value) {
+            events.add("afterCommit " + value);
+        }
+
+        @Override
+        protected void afterCompletion(List<String> value, boolean committed) {
+            events.add("afterCompletion " + committed + " bound " + (get() != null));
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(resource);
+    }
+
+    @Test
+    public void testValueIsCreatedOncePerTransaction() throws Exception {
+        assertNull(resource.get());
+        final List<String> value = resource.getOrCreate();
+        assertSame(value, resource.getOrCreate());
+        assertSame(value, resource.get());
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+    }
+
+    @Test
+    public void testCallbacksOnCommit() throws Exception {
+        resource.getOrCreate().add("a");
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        assertEquals(asList("beforeCommit [a]", "afterCommit [a]", "afterCompletion true bound false"), events);
+        assertNull(resource.get());
+    }
+
+    @Test
+    public void testCallbacksOnRollback() throws Exception {
+        resource.getOrCreate();
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+        assertEquals(asList("afterCompletion false bound false"), events);
+    }
+
+    @Test
+    public void testNoValueOutsideOfTransaction() throws Exception {
+        TransactionSynchronizationManager.clearSynchronization();
+        assertNull(resource.getOrCreate());
+        assertNull(resource.get());
+    }
+}
@@ -3,14 +3,19 @@ package org.springframework.data.neo4j.support.conversion;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.data.neo4j.annotation.MapResult;
+import org.springframework.data.neo4j.annotation.QueryResult;
 import org.springframework.data.neo4j.annotation.ResultColumn;
 import org.springframework.data.neo4j.model.Group;
 import org.springframework.data.neo4j.model.Person;
 import org.springframework.data.neo4j.repository.MemberData;
 import org.springframework.data.neo4j.repository.MemberDataPOJO;
 
+import java.util.HashMap;
+import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -66,6 +71,69 @@ public class EntityResultConverterTest {
         assertFalse("POJO using deprecated @MapResult annotation should not be identified as requiring Interface based mapping", isInterfaceResult);
     }
 
+    @Test
+    public void testPojoResultsAreMappedRowByRow() {
+        NameAndAgePOJO first = (NameAndAgePOJO) converter.convert(row("Michael", 37), NameAndAgePOJO.class);
+        NameAndAgePOJO second = (NameAndAgePOJO) converter.convert(row("Emil", null), NameAndAgePOJO.class);
+        assertEquals("Michael", first.getName());
+        assertEquals(Integer.valueOf(37), first.getAge());
+        assertEquals("Emil", second.getName());
+        assertNull(second.getAge());
+    }
+
+    @Test
+    public void testInterfaceResultsAreMappedRowByRow() {
+        NameAndAge first = (NameAndAge) converter.convert(row("Michael", 37), NameAndAge.class);
+        NameAndAge second = (NameAndAge) converter.convert(row("Emil", 42), NameAndAge.class);
+        assertEquals("Michael", first.getName());
+        assertEquals(Integer.valueOf(37), first.getAge());
+        assertEquals("Emil", second.getName());
+        assertEquals(Integer.valueOf(42), second.getAge());
+        assertEquals(first, converter.convert(row("Michael", 37), NameAndAge.class));
+    }
+
+    private Map<String, Object> row(String name, Integer age) {
+        Map<String, Object> row = new HashMap<String, Object>();
+        row.put("name", name);
+        row.put("age", age);
+        return row;
+    }
+}
+
+@QueryResult
+interface NameAndAge {
+
+    @ResultColumn("name")
+    String getName();
+
+    @ResultColumn("age")
+    Integer getAge();
+}
+
+@QueryResult
+class NameAndAgePOJO {
+
+    @ResultColumn("name")
+    private String name;
+
+    @ResultColumn("age")
+    private Integer age;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
 }
 
 @MapResult
@@ -0,0 +1,94 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.index;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.index.Index;
+import org.springframework.data.neo4j.annotation.Indexed;
+import org.springframework.data.neo4j.core.GraphDatabase;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class IndexProviderImplTests {
+
+    private final GraphDatabase graphDatabase = mock(GraphDatabase.class);
+    private final Neo4jPersistentProperty property = mock(Neo4jPersistentProperty.class);
+    @SuppressWarnings("unchecked")
+    private final Neo4jPersistentEntity<Object> owner = mock(Neo4jPersistentEntity.class);
+    @SuppressWarnings("unchecked")
+    private final Index<Node> index = mock(Index.class);
+    private final IndexProviderImpl indexProvider = new IndexProviderImpl(graphDatabase);
+
+    @Before
+    public void setUp() throws Exception {
+        when(property.getOwner()).thenReturn((Neo4jPersistentEntity) owner);
+        when(owner.getType()).thenReturn(Object.class);
+        when(owner.isNodeEntity()).thenReturn(true);
+        when(graphDatabase.createIndex(Node.class, "Object", IndexType.SIMPLE)).thenReturn(index);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(indexProvider);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testIndexNameIsResolvedOnce() throws Exception {
+        assertSame(index, indexProvider.getIndex(property, Object.class));
+        assertSame(index, indexProvider.getIndex(property, Object.class));
+        verify(property, times(1)).getAnnotation(Indexed.class);
+        verify(graphDatabase, times(2)).createIndex(Node.class, "Object", IndexType.SIMPLE);
+    }
+
+    @Test
+    public void testCustomizedIndexNameIsNotCached() throws Exception {
+        final String[] tenant = {"a"};
+        final IndexProviderImpl tenantIndexProvider = new IndexProviderImpl(graphDatabase) {
+            @Override
+            public String customizeIndexName(String indexName, Class<?> type) {
+                return tenant[0] + "_" + indexName;
+            }
+        };
+        tenantIndexProvider.getIndex(property, Object.class);
+        tenant[0] = "b";
+        tenantIndexProvider.getIndex(property, Object.class);
+        verify(graphDatabase).createIndex(Node.class, "a_Object", IndexType.SIMPLE);
+        verify(graphDatabase).createIndex(Node.class, "b_Object", IndexType.SIMPLE);
+        verify(property, times(1)).getAnnotation(Indexed.class);
+    }
+
+    @Test
+    public void testIndexHandleIsReusedWithinTransaction() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        assertSame(index, indexProvider.getIndex(property, Object.class));
+        assertSame(index, indexProvider.getIndex(property, Object.class));
+        verify(graphDatabase, times(1)).createIndex(Node.class, "Object", IndexType.SIMPLE);
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.index;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.index.Index;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class IndexWriteBufferTests {
+
+    private final IndexWriteBuffer buffer = new IndexWriteBuffer();
+    @SuppressWarnings("unchecked")
+    private final Index<Node> index = mock(Index.class);
+    private final Node node = mock(Node.class);
+    private final Node other = mock(Node.class);
+
+    @Before
+    public void setUp() throws Exception {
+        when(index.getName()).thenReturn("Person");
+        when(index.getEntityType()).thenReturn(Node.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        for (Object key : new ArrayList<Object>(TransactionSynchronizationManager.getResourceMap().keySet())) {
+            TransactionSynchronizationManager.unbindResource(key);
+        }
+    }
+
+    @Test
+    public void testWritesImmediatelyWithoutTransaction() throws Exception {
+        assertFalse(buffer.write(index, node, "name", "Michael"));
+    }
+
+    @Test
+    public void testRepeatedWritesAreCollapsedAndAppliedBeforeCommit() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(buffer.write(index, node, "name", "Michael"));
+        buffer.write(index, node, "name", "Emil");
+        buffer.write(index, other, "name", null);
+        verify(index, never()).add(any(Node.class), anyString(), any());
+        verify(index, never()).remove(any(Node.class), anyString());
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+        }
+        verify(index).remove(node, "name");
+        verify(index).add(node, "name", "Emil");
+        verify(index, never()).add(node, "name", "Michael");
+        verify(index).remove(other, "name");
+        verify(index, never()).add(eq(other), anyString(), any());
+    }
+
+    @Test
+    public void testWritesOfRemovedStatesAreDropped() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        buffer.write(index, node, "name", "Michael");
+        buffer.forget(node);
+        buffer.flush();
+        verify(index, never()).remove(node, "name");
+        verify(index, never()).add(node, "name", "Michael");
+    }
+
+    @Test
+    public void testBufferIsUnboundAfterCompletion() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        buffer.write(index, node, "name", "Michael");
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        assertTrue(TransactionSynchronizationManager.getResourceMap().isEmpty());
+        verify(index, times(1)).add(node, "name", "Michael");
+    }
+}
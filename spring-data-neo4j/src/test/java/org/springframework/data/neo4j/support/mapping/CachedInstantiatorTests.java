@@ -0,0 +1,52 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.junit.Test;
+import org.neo4j.graphdb.Node;
+import org.springframework.data.neo4j.mapping.EntityInstantiator;
+import org.springframework.data.neo4j.mapping.MappingPolicy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class CachedInstantiatorTests {
+
+    @SuppressWarnings("unchecked")
+    private final EntityInstantiator<Node> delegate = mock(EntityInstantiator.class);
+    private final Neo4jEntityPersister.CachedInstantiator<Node> instantiator = new Neo4jEntityPersister.CachedInstantiator<Node>(delegate);
+    private final Node node = mock(Node.class);
+
+    @Test
+    public void testEntitiesAreNotKeptOnTheThreadAfterFailedRead() throws Exception {
+        try {
+            instantiator.createEntityFromState(null, String.class, MappingPolicy.LOAD_POLICY);
+            fail("null state must be rejected");
+        } catch (IllegalArgumentException expected) {
+        }
+        when(delegate.createEntityFromState(node, String.class, MappingPolicy.LOAD_POLICY)).thenReturn("first");
+        assertEquals("first", instantiator.createEntityFromState(node, String.class, MappingPolicy.LOAD_POLICY));
+
+        when(delegate.createEntityFromState(node, String.class, MappingPolicy.LOAD_POLICY)).thenReturn("second");
+        assertEquals("second", instantiator.createEntityFromState(node, String.class, MappingPolicy.LOAD_POLICY));
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.mapping.Association;
+import org.springframework.data.mapping.AssociationHandler;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.neo4j.mapping.MappingPolicy;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class EntityMappingPlanTests {
+
+    private final Neo4jPersistentEntity<?> persistentEntity = mock(Neo4jPersistentEntity.class);
+    private final Neo4jPersistentProperty name = mock(Neo4jPersistentProperty.class);
+    private final Neo4jPersistentProperty age = mock(Neo4jPersistentProperty.class);
+    private final Neo4jPersistentProperty friends = mock(Neo4jPersistentProperty.class);
+    private final Neo4jPersistentProperty boss = mock(Neo4jPersistentProperty.class);
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(name.getMappingPolicy()).thenReturn(MappingPolicy.DEFAULT_POLICY);
+        when(age.getMappingPolicy()).thenReturn(MappingPolicy.MAP_FIELD_DIRECT_POLICY);
+        when(friends.getMappingPolicy()).thenReturn(MappingPolicy.LOAD_POLICY);
+        when(boss.getMappingPolicy()).thenReturn(MappingPolicy.DEFAULT_POLICY);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                final PropertyHandler<Neo4jPersistentProperty> handler = (PropertyHandler<Neo4jPersistentProperty>) invocation.getArguments()[0];
+                handler.doWithPersistentProperty(name);
+                handler.doWithPersistentProperty(age);
+                return null;
+            }
+        }).when(persistentEntity).doWithProperties(any(PropertyHandler.class));
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                final AssociationHandler<Neo4jPersistentProperty> handler = (AssociationHandler<Neo4jPersistentProperty>) invocation.getArguments()[0];
+                handler.doWithAssociation(new Association<Neo4jPersistentProperty>(friends, null));
+                handler.doWithAssociation(new Association<Neo4jPersistentProperty>(boss, null));
+                return null;
+            }
+        }).when(persistentEntity).doWithAssociations(any(AssociationHandler.class));
+    }
+
+    @Test
+    public void testPropertiesPrecedeAssociationInverses() throws Exception {
+        final EntityMappingPlan plan = EntityMappingPlan.compile(persistentEntity);
+        assertEquals(4, plan.size());
+        assertSame(name, plan.property(0));
+        assertSame(age, plan.property(1));
+        assertSame(friends, plan.property(2));
+        assertSame(boss, plan.property(3));
+    }
+
+    @Test
+    public void testAssociationsStartAfterProperties() throws Exception {
+        final EntityMappingPlan plan = EntityMappingPlan.compile(persistentEntity);
+        assertFalse(plan.isAssociation(0));
+        assertFalse(plan.isAssociation(1));
+        assertTrue(plan.isAssociation(2));
+        assertTrue(plan.isAssociation(3));
+    }
+
+    @Test
+    public void testMappingPoliciesFollowPropertyOrder() throws Exception {
+        final EntityMappingPlan plan = EntityMappingPlan.compile(persistentEntity);
+        assertSame(MappingPolicy.DEFAULT_POLICY, plan.mappingPolicy(0));
+        assertSame(MappingPolicy.MAP_FIELD_DIRECT_POLICY, plan.mappingPolicy(1));
+        assertSame(MappingPolicy.LOAD_POLICY, plan.mappingPolicy(2));
+        assertSame(MappingPolicy.DEFAULT_POLICY, plan.mappingPolicy(3));
+    }
+
+    @Test
+    public void testOnlyAssociationsWithoutProperties() throws Exception {
+        doNothing().when(persistentEntity).doWithProperties(any(PropertyHandler.class));
+        final EntityMappingPlan plan = EntityMappingPlan.compile(persistentEntity);
+        assertEquals(2, plan.size());
+        assertTrue(plan.isAssociation(0));
+        assertSame(friends, plan.property(0));
+    }
+
+    @Test
+    public void testPropertiesWithoutFieldAccessUseBeanWrapper() throws Exception {
+        final EntityMappingPlan plan = EntityMappingPlan.compile(persistentEntity);
+        for (int i = 0; i < plan.size(); i++) {
+            assertNull(plan.fieldAccess(i));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.neo4j.core.GraphDatabase;
+import org.springframework.data.neo4j.core.TypeRepresentationStrategy;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+import org.springframework.data.neo4j.support.index.IndexProvider;
+
+import java.util.Collections;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class EntityRemoverTests {
+
+    static class Person {}
+
+    private final EntityStateHandler entityStateHandler = mock(EntityStateHandler.class);
+    @SuppressWarnings("unchecked")
+    private final TypeRepresentationStrategy<Node> nodeTypeRepresentationStrategy = mock(TypeRepresentationStrategy.class);
+    @SuppressWarnings("unchecked")
+    private final TypeRepresentationStrategy<Relationship> relationshipTypeRepresentationStrategy = mock(TypeRepresentationStrategy.class);
+    private final GraphDatabase graphDatabase = mock(GraphDatabase.class);
+    private final IndexProvider indexProvider = mock(IndexProvider.class);
+    private final Neo4jMappingContext mappingContext = mock(Neo4jMappingContext.class);
+    @SuppressWarnings("unchecked")
+    private final Neo4jPersistentEntityImpl<Person> persistentEntity = mock(Neo4jPersistentEntityImpl.class);
+    private final Neo4jPersistentProperty name = mock(Neo4jPersistentProperty.class);
+    private final Neo4jPersistentProperty age = mock(Neo4jPersistentProperty.class);
+    private final Node node = mock(Node.class);
+    private final Person person = new Person();
+    private final EntityRemover entityRemover = new EntityRemover(entityStateHandler, nodeTypeRepresentationStrategy, relationshipTypeRepresentationStrategy, graphDatabase);
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(entityStateHandler.isNodeEntity(Person.class)).thenReturn(true);
+        when(entityStateHandler.getPersistentState(person, Node.class)).thenReturn(node);
+        when(node.getRelationships()).thenReturn(Collections.<Relationship>emptyList());
+        when(mappingContext.getPersistentEntity(Person.class)).thenReturn((Neo4jPersistentEntityImpl) persistentEntity);
+        when(persistentEntity.getType()).thenReturn(Person.class);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                final PropertyHandler<Neo4jPersistentProperty> handler = (PropertyHandler<Neo4jPersistentProperty>) invocation.getArguments()[0];
+                handler.doWithPersistentProperty(name);
+                handler.doWithPersistentProperty(age);
+                return null;
+            }
+        }).when(persistentEntity).doWithProperties(any(PropertyHandler.class));
+        when(name.isIndexed()).thenReturn(true);
+        when(indexProvider.getIndexName(name, Person.class)).thenReturn("Person");
+    }
+
+    @Test
+    public void testRemovesFromAllIndexesByDefault() throws Exception {
+        entityRemover.remove(person);
+        verify(graphDatabase).remove(node);
+    }
+
+    @Test
+    public void testRemovesOnlyFromIndexesOfEntity() throws Exception {
+        entityRemover.setEntityIndexes(indexProvider, mappingContext);
+        entityRemover.remove(person);
+        entityRemover.remove(person);
+        verify(graphDatabase, times(2)).remove(node, Collections.singleton("Person"));
+        verify(graphDatabase, never()).remove(node);
+        verify(indexProvider, never()).getIndexName(age, Person.class);
+        verify(indexProvider, never()).getIndex(any(Neo4jPersistentProperty.class), any(Class.class));
+        verify(persistentEntity, times(1)).doWithProperties(any(PropertyHandler.class));
+    }
+
+    @Test
+    public void testResolvesCustomizedIndexNamesOnEachRemoval() throws Exception {
+        entityRemover.setEntityIndexes(indexProvider, mappingContext);
+        entityRemover.remove(person);
+        when(indexProvider.getIndexName(name, Person.class)).thenReturn("tenant-Person");
+        entityRemover.remove(person);
+        verify(graphDatabase).remove(node, Collections.singleton("Person"));
+        verify(graphDatabase).remove(node, Collections.singleton("tenant-Person"));
+    }
+
+    @Test
+    public void testRemovesUntypedNodesFromAllIndexes() throws Exception {
+        entityRemover.setEntityIndexes(indexProvider, mappingContext);
+        when(nodeTypeRepresentationStrategy.readAliasFrom(node)).thenThrow(new IllegalStateException("no type"));
+        entityRemover.remove(node);
+        verify(graphDatabase).remove(node);
+    }
+}
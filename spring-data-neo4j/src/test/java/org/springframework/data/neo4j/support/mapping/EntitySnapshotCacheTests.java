@@ -0,0 +1,175 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.junit.Test;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class EntitySnapshotCacheTests {
+
+    private final Neo4jPersistentProperty name = mock(Neo4jPersistentProperty.class);
+    private final Map<Neo4jPersistentProperty, Object> values = Collections.<Neo4jPersistentProperty, Object>singletonMap(name, "Genre");
+
+    @Test
+    public void testGetPutAndEvict() throws Exception {
+        final EntitySnapshotCache cache = new EntitySnapshotCache(10, 0, EntitySnapshotCache.EvictionPolicy.LRU);
+        final Node node = node(1);
+        assertNull(cache.get(node, String.class));
+        cache.put(node, String.class, values);
+        assertEquals("Genre", cache.get(node(1), String.class).get(name));
+        assertNull(cache.get(node, Integer.class));
+        assertNull(cache.get(relationship(1), String.class));
+        cache.evict(node);
+        assertNull(cache.get(node, String.class));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws Exception {
+        final EntitySnapshotCache cache = new EntitySnapshotCache(2, 0, EntitySnapshotCache.EvictionPolicy.LRU);
+        cache.put(node(1), String.class, values);
+        cache.put(node(2), String.class, values);
+        cache.get(node(1), String.class);
+        cache.put(node(3), String.class, values);
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(node(1), String.class));
+        assertNull(cache.get(node(2), String.class));
+    }
+
+    @Test
+    public void testEvictsLeastFrequentlyUsed() throws Exception {
+        final EntitySnapshotCache cache = new EntitySnapshotCache(2, 0, EntitySnapshotCache.EvictionPolicy.LFU);
+        cache.put(node(1), String.class, values);
+        cache.put(node(2), String.class, values);
+        cache.get(node(1), String.class);
+        cache.get(node(1), String.class);
+        cache.get(node(2), String.class);
+        cache.put(node(3), String.class, values);
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(node(1), String.class));
+        assertNull(cache.get(node(2), String.class));
+    }
+
+    @Test
+    public void testExpiresAfterTimeToLive() throws Exception {
+        final EntitySnapshotCache cache = new EntitySnapshotCache(10, 1, EntitySnapshotCache.EvictionPolicy.LRU);
+        cache.put(node(1), String.class, values);
+        Thread.sleep(10);
+        assertNull(cache.get(node(1), String.class));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testCachedTypes() throws Exception {
+        final EntitySnapshotCache cache = new EntitySnapshotCache(10, 0, EntitySnapshotCache.EvictionPolicy.LRU);
+        assertTrue(cache.isCacheable(Integer.class));
+        cache.setCachedTypes(Arrays.<Class<?>>asList(Number.class));
+        assertTrue(cache.isCacheable(Integer.class));
+        assertFalse(cache.isCacheable(String.class));
+    }
+
+    @Test
+    public void testOnlyImmutableValuesOfPlainProperties() throws Exception {
+        assertTrue(EntitySnapshotCache.isSnapshotValue(name, "value"));
+        assertTrue(EntitySnapshotCache.isSnapshotValue(name, null));
+        assertFalse(EntitySnapshotCache.isSnapshotValue(name, new Date()));
+        assertFalse(EntitySnapshotCache.isSnapshotValue(name, new String[0]));
+        final Neo4jPersistentProperty query = mock(Neo4jPersistentProperty.class);
+        when(query.hasQuery()).thenReturn(true);
+        assertFalse(EntitySnapshotCache.isSnapshotValue(query, "value"));
+    }
+
+    @Test
+    public void testValuesReadInTransactionArePublishedAfterCommit() throws Exception {
+        final EntitySnapshotCache cache = new EntitySnapshotCache(10, 0, EntitySnapshotCache.EvictionPolicy.LRU);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.put(node(1), String.class, values);
+            assertNull(cache.get(node(1), String.class));
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals("Genre", cache.get(node(1), String.class).get(name));
+    }
+
+    @Test
+    public void testValuesOfStateWrittenInTransactionAreNotPublished() throws Exception {
+        final EntitySnapshotCache cache = new EntitySnapshotCache(10, 0, EntitySnapshotCache.EvictionPolicy.LRU);
+        cache.put(node(1), String.class, values);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict(node(1));
+            cache.put(node(1), String.class, Collections.<Neo4jPersistentProperty, Object>singletonMap(name, "uncommitted"));
+            assertNull(cache.get(node(1), String.class));
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertNull(cache.get(node(1), String.class));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testValuesReadInRolledBackTransactionAreDiscarded() throws Exception {
+        final EntitySnapshotCache cache = new EntitySnapshotCache(10, 0, EntitySnapshotCache.EvictionPolicy.LRU);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.put(node(1), String.class, values);
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0, cache.size());
+    }
+
+    private void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) synchronization.afterCommit();
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private Node node(long id) {
+        final Node node = mock(Node.class);
+        when(node.getId()).thenReturn(id);
+        return node;
+    }
+
+    private Relationship relationship(long id) {
+        final Relationship relationship = mock(Relationship.class);
+        when(relationship.getId()).thenReturn(id);
+        return relationship;
+    }
+}
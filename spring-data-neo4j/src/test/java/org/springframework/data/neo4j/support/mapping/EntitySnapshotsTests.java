@@ -0,0 +1,141 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.junit.Test;
+import org.neo4j.graphdb.Node;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class EntitySnapshotsTests {
+
+    private final Node node = mock(Node.class);
+    private final Neo4jPersistentProperty property = mock(Neo4jPersistentProperty.class);
+
+    @Test
+    public void testSimpleValues() throws Exception {
+        final EntitySnapshots.Snapshot snapshot = new EntitySnapshots.Snapshot(node);
+        assertFalse(snapshot.isUnchanged(property, "name"));
+        snapshot.record(property, "name");
+        assertTrue(snapshot.isUnchanged(property, new String("name")));
+        assertFalse(snapshot.isUnchanged(property, "other"));
+        snapshot.record(property, null);
+        assertTrue(snapshot.isUnchanged(property, null));
+        assertFalse(snapshot.isUnchanged(property, "name"));
+    }
+
+    @Test
+    public void testMutableValuesAreCopied() throws Exception {
+        final EntitySnapshots.Snapshot snapshot = new EntitySnapshots.Snapshot(node);
+        final Date date = new Date(1000);
+        snapshot.record(property, date);
+        assertTrue(snapshot.isUnchanged(property, date));
+        date.setTime(2000);
+        assertFalse(snapshot.isUnchanged(property, date));
+
+        final int[] numbers = {1, 2};
+        snapshot.record(property, numbers);
+        assertTrue(snapshot.isUnchanged(property, new int[]{1, 2}));
+        numbers[0] = 3;
+        assertFalse(snapshot.isUnchanged(property, numbers));
+
+        snapshot.record(property, new Object());
+        assertFalse(snapshot.isUnchanged(property, null));
+    }
+
+    @Test
+    public void testReorderedListsAreChanged() throws Exception {
+        final EntitySnapshots.Snapshot snapshot = new EntitySnapshots.Snapshot(node);
+        snapshot.record(property, new ArrayList<String>(asList("a", "b")));
+        assertTrue(snapshot.isUnchanged(property, asList("a", "b")));
+        assertFalse(snapshot.isUnchanged(property, asList("b", "a")));
+
+        snapshot.record(property, new String[]{"a", "b"});
+        assertTrue(snapshot.isUnchanged(property, new String[]{"a", "b"}));
+        assertFalse(snapshot.isUnchanged(property, new String[]{"b", "a"}));
+    }
+
+    @Test
+    public void testChangedDuplicatesAreChanged() throws Exception {
+        final EntitySnapshots.Snapshot snapshot = new EntitySnapshots.Snapshot(node);
+        snapshot.record(property, new ArrayList<String>(asList("a", "a", "b")));
+        assertTrue(snapshot.isUnchanged(property, asList("a", "a", "b")));
+        assertFalse(snapshot.isUnchanged(property, asList("a", "b", "b")));
+
+        snapshot.record(property, new int[]{1, 1, 2});
+        assertFalse(snapshot.isUnchanged(property, new int[]{1, 2, 2}));
+    }
+
+    @Test
+    public void testSetsAreComparedRegardlessOfOrder() throws Exception {
+        final EntitySnapshots.Snapshot snapshot = new EntitySnapshots.Snapshot(node);
+        snapshot.record(property, new LinkedHashSet<String>(asList("a", "b")));
+        assertTrue(snapshot.isUnchanged(property, new LinkedHashSet<String>(asList("b", "a"))));
+        assertFalse(snapshot.isUnchanged(property, asList("a", "b")));
+    }
+
+    @Test
+    public void testRelatedEntitiesAreComparedByIdentity() throws Exception {
+        when(property.isRelationship()).thenReturn(true);
+        final EntitySnapshots.Snapshot snapshot = new EntitySnapshots.Snapshot(node);
+        final Object friend = new Object();
+        final Set<Object> friends = new HashSet<Object>(asList(friend));
+        snapshot.record(property, friends);
+        assertTrue(snapshot.isUnchanged(property, friends));
+        assertTrue(snapshot.isUnchanged(property, new HashSet<Object>(asList(friend))));
+        friends.add(new Object());
+        assertFalse(snapshot.isUnchanged(property, friends));
+
+        snapshot.record(property, friend);
+        assertTrue(snapshot.isUnchanged(property, friend));
+        assertFalse(snapshot.isUnchanged(property, new Object()));
+        assertFalse(snapshot.isUnchanged(property, null));
+
+        snapshot.record(property, null);
+        assertTrue(snapshot.isUnchanged(property, null));
+        assertFalse(snapshot.isUnchanged(property, friend));
+    }
+
+    @Test
+    public void testSnapshotsAreHeldPerInstanceAndState() throws Exception {
+        final EntitySnapshots snapshots = new EntitySnapshots();
+        final EntitySnapshots.Snapshot snapshot = new EntitySnapshots.Snapshot(node);
+        final Object entity = new Object() {
+            public boolean equals(Object obj) { return true; }
+            public int hashCode() { return 0; }
+        };
+        snapshots.put(entity, snapshot);
+        assertSame(snapshot, snapshots.get(entity, node));
+        assertNull(snapshots.get(entity, mock(Node.class)));
+        assertNull(snapshots.get(new Object(), node));
+        snapshots.remove(entity);
+        assertNull(snapshots.get(entity, node));
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.junit.Test;
+import org.springframework.data.mapping.model.BeanWrapper;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
+import org.springframework.data.neo4j.support.node.EntityStateFactory;
+import org.neo4j.graphdb.Node;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class FieldAccessHandleTests {
+
+    static class Person {
+        private String name;
+        private int age;
+        private final Long id;
+
+        Person(Long id) {
+            this.id = id;
+        }
+    }
+
+    private static FieldAccessHandle handle(String fieldName) throws Exception {
+        return new FieldAccessHandle(Person.class.getDeclaredField(fieldName));
+    }
+
+    @Test
+    public void testGetAndSetObjectField() throws Exception {
+        final Person person = new Person(1L);
+        final FieldAccessHandle name = handle("name");
+        name.set(person, "Michael");
+        assertEquals("Michael", person.name);
+        assertEquals("Michael", name.get(person));
+        name.set(person, null);
+        assertNull(name.get(person));
+    }
+
+    @Test
+    public void testGetAndSetPrimitiveField() throws Exception {
+        final Person person = new Person(1L);
+        final FieldAccessHandle age = handle("age");
+        age.set(person, 42);
+        assertEquals(42, person.age);
+        assertEquals(Integer.valueOf(42), age.get(person));
+    }
+
+    @Test
+    public void testSetFinalField() throws Exception {
+        final Person person = new Person(1L);
+        final FieldAccessHandle id = handle("id");
+        id.set(person, 2L);
+        assertEquals(Long.valueOf(2L), id.get(person));
+    }
+
+    @Test
+    public void testAcceptsOnlyValuesAssignableWithoutConversion() throws Exception {
+        final FieldAccessHandle age = handle("age");
+        assertTrue(age.accepts(42));
+        assertFalse(age.accepts(null));
+        assertFalse(age.accepts("42"));
+        assertFalse(age.accepts(42L));
+        final FieldAccessHandle name = handle("name");
+        assertTrue(name.accepts("Michael"));
+        assertTrue(name.accepts(null));
+        assertFalse(name.accepts(42));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTransmitterFallsBackToConversionForValuesNotAccepted() throws Exception {
+        final Person person = new Person(1L);
+        final BeanWrapper<Neo4jPersistentEntity<Person>, Person> wrapper = mock(BeanWrapper.class);
+        when(wrapper.getBean()).thenReturn(person);
+        final Neo4jPersistentPropertyImpl property = mock(Neo4jPersistentPropertyImpl.class);
+        when(property.getFieldAccess()).thenReturn(handle("age"));
+        final SourceStateTransmitter<Node> transmitter = new SourceStateTransmitter<Node>(mock(EntityStateFactory.class));
+
+        transmitter.setProperty(wrapper, property, 42);
+        assertEquals(42, person.age);
+        verify(wrapper, never()).setProperty(property, 42);
+
+        transmitter.setProperty(wrapper, property, "43");
+        verify(wrapper).setProperty(property, "43");
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.neo4j.graphdb.Transaction;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mapping.context.MappingContextEvent;
+import org.springframework.data.neo4j.annotation.QueryType;
+import org.springframework.data.neo4j.conversion.Result;
+import org.springframework.data.neo4j.core.GraphDatabase;
+import org.springframework.data.neo4j.mapping.IndexInfo;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+import org.springframework.data.neo4j.support.index.IndexProvider;
+import org.springframework.data.neo4j.support.index.IndexType;
+import org.springframework.data.neo4j.support.query.QueryEngine;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class IndexCreationMappingEventListenerTests {
+
+    static class Person {}
+
+    private static final String CREATE_INDEX = "CREATE INDEX ON :`Person`(`name`)";
+
+    private final IndexProvider indexProvider = mock(IndexProvider.class);
+    private final GraphDatabase graphDatabase = mock(GraphDatabase.class);
+    private final Neo4jMappingContext mappingContext = mock(Neo4jMappingContext.class);
+    private final EntityAlias entityAlias = mock(EntityAlias.class);
+    @SuppressWarnings("unchecked")
+    private final Neo4jPersistentEntity<Person> entity = mock(Neo4jPersistentEntity.class);
+    private final Neo4jPersistentProperty name = mock(Neo4jPersistentProperty.class);
+    @SuppressWarnings("unchecked")
+    private final QueryEngine<Object> queryEngine = mock(QueryEngine.class);
+    @SuppressWarnings("unchecked")
+    private final Result<Object> result = mock(Result.class);
+    private final Transaction tx = mock(Transaction.class);
+    private final IndexCreationMappingEventListener listener = new IndexCreationMappingEventListener(indexProvider, graphDatabase);
+    private Thread transactionThread;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(mappingContext.getEntityAlias()).thenReturn(entityAlias);
+        when(entityAlias.createAlias(entity)).thenReturn("Person");
+        when(entity.getType()).thenReturn(Person.class);
+        when(entity.isNodeEntity()).thenReturn(true);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                ((PropertyHandler<Neo4jPersistentProperty>) invocation.getArguments()[0]).doWithPersistentProperty(name);
+                return null;
+            }
+        }).when(entity).doWithProperties(any(PropertyHandler.class));
+        final IndexInfo indexInfo = mock(IndexInfo.class);
+        when(indexInfo.getIndexType()).thenReturn(IndexType.SIMPLE);
+        when(name.isIndexed()).thenReturn(true);
+        when(name.getIndexInfo()).thenReturn(indexInfo);
+        when(name.getNeo4jPropertyName()).thenReturn("name");
+        when(graphDatabase.<Object>queryEngineFor(QueryType.Cypher)).thenReturn(queryEngine);
+        when(queryEngine.query(anyString(), anyMapOf(String.class, Object.class))).thenReturn(result);
+        when(graphDatabase.beginTx()).thenAnswer(new Answer<Transaction>() {
+            @Override
+            public Transaction answer(InvocationOnMock invocation) throws Throwable {
+                transactionThread = Thread.currentThread();
+                return tx;
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mapEntity() {
+        listener.onApplicationEvent(new MappingContextEvent(mappingContext, entity));
+    }
+
+    @Test
+    public void testCreatesSchemaIndexInOwnTransaction() throws Exception {
+        mapEntity();
+        verify(queryEngine).query(eq(CREATE_INDEX), anyMapOf(String.class, Object.class));
+        verify(tx).success();
+        verify(tx).finish();
+        assertSame(Thread.currentThread(), transactionThread);
+    }
+
+    @Test
+    public void testDefersSchemaIndexCreationUntilRunningTransactionCompleted() throws Exception {
+        when(graphDatabase.transactionIsRunning()).thenReturn(true);
+        TransactionSynchronizationManager.initSynchronization();
+        mapEntity();
+        verify(graphDatabase, never()).beginTx();
+        verifyZeroInteractions(queryEngine);
+
+        when(graphDatabase.transactionIsRunning()).thenReturn(false);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        verify(queryEngine).query(eq(CREATE_INDEX), anyMapOf(String.class, Object.class));
+        verify(tx).success();
+        verify(tx).finish();
+        assertSame(Thread.currentThread(), transactionThread);
+    }
+
+    @Test
+    public void testCreatesPendingSchemaIndexesWhenNextEntityIsMappedOutsideOfTransaction() throws Exception {
+        when(graphDatabase.transactionIsRunning()).thenReturn(true);
+        mapEntity();
+        verify(graphDatabase, never()).beginTx();
+
+        when(graphDatabase.transactionIsRunning()).thenReturn(false);
+        when(name.isIndexed()).thenReturn(false);
+        mapEntity();
+        verify(queryEngine).query(eq(CREATE_INDEX), anyMapOf(String.class, Object.class));
+        verify(tx).success();
+    }
+
+    @Test
+    public void testCreatesUniqueConstraintForUniqueProperties() throws Exception {
+        when(name.isUnique()).thenReturn(true);
+        mapEntity();
+        verify(queryEngine).query(eq("CREATE CONSTRAINT ON (n:`Person`) ASSERT n.`name` IS UNIQUE"), anyMapOf(String.class, Object.class));
+    }
+
+    @Test
+    public void testFailedSchemaIndexCreationIsPropagated() throws Exception {
+        when(queryEngine.query(anyString(), anyMapOf(String.class, Object.class))).thenThrow(new IllegalStateException("schema change failed"));
+        try {
+            mapEntity();
+            fail("expected exception");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        verify(tx).failure();
+        verify(tx, never()).success();
+        verify(tx).finish();
+    }
+}
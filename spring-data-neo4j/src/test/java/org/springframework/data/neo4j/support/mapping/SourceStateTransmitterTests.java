@@ -0,0 +1,131 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.springframework.data.mapping.AssociationHandler;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mapping.model.BeanWrapper;
+import org.springframework.data.neo4j.core.EntityState;
+import org.springframework.data.neo4j.core.GraphDatabase;
+import org.springframework.data.neo4j.mapping.MappingPolicy;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.data.neo4j.support.node.EntityStateFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class SourceStateTransmitterTests {
+
+    static class Person {
+    }
+
+    @SuppressWarnings("unchecked")
+    private final EntityStateFactory<Node> entityStateFactory = mock(EntityStateFactory.class);
+    @SuppressWarnings("unchecked")
+    private final EntityState<Node> entityState = mock(EntityState.class);
+    @SuppressWarnings("unchecked")
+    private final Neo4jPersistentEntity<Person> persistentEntity = mock(Neo4jPersistentEntity.class);
+    @SuppressWarnings("unchecked")
+    private final BeanWrapper<Neo4jPersistentEntity<Person>, Person> wrapper = mock(BeanWrapper.class);
+    private final Neo4jPersistentProperty name = mock(Neo4jPersistentProperty.class);
+    private final Neo4jTemplate template = mock(Neo4jTemplate.class);
+    private final Node node = mock(Node.class);
+    private final Person person = new Person();
+    private final SourceStateTransmitter<Node> transmitter = new SourceStateTransmitter<Node>(entityStateFactory);
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        transmitter.setEntitySnapshots(new EntitySnapshots());
+        final GraphDatabase graphDatabase = mock(GraphDatabase.class);
+        when(template.getGraphDatabase()).thenReturn(graphDatabase);
+        when(graphDatabase.beginTx()).thenReturn(mock(Transaction.class));
+        when(entityStateFactory.getEntityState(any(), anyBoolean(), any(Neo4jTemplate.class))).thenReturn(entityState);
+        when(entityState.isWritable(name)).thenReturn(true);
+        when(wrapper.getBean()).thenReturn(person);
+        doReturn("Michael").when(wrapper).getProperty(name);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                ((PropertyHandler<Neo4jPersistentProperty>) invocation.getArguments()[0]).doWithPersistentProperty(name);
+                return null;
+            }
+        }).when(persistentEntity).doWithProperties(any(PropertyHandler.class));
+        doNothing().when(persistentEntity).doWithAssociations(any(AssociationHandler.class));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        for (Object key : new ArrayList<Object>(TransactionSynchronizationManager.getResourceMap().keySet())) {
+            TransactionSynchronizationManager.unbindResource(key);
+        }
+    }
+
+    private void save() {
+        transmitter.copyPropertiesTo(wrapper, node, persistentEntity, MappingPolicy.DEFAULT_POLICY, template);
+    }
+
+    private void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) synchronization.afterCommit();
+            synchronization.afterCompletion(status);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @Test
+    public void testUnchangedValuesAreSkippedWithinAndAfterCommittedTransaction() throws Exception {
+        save();
+        save();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        save();
+        verify(entityState, times(1)).setValue(name, "Michael", null);
+    }
+
+    @Test
+    public void testValuesAreWrittenAgainAfterRollback() throws Exception {
+        save();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        doReturn("Emil").when(wrapper).getProperty(name);
+        save();
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        save();
+        verify(entityState, times(2)).setValue(name, "Emil", null);
+    }
+}
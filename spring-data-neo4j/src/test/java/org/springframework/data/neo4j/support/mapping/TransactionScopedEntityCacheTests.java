@@ -0,0 +1,103 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.Node;
+import org.springframework.data.neo4j.mapping.MappingPolicy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class TransactionScopedEntityCacheTests {
+
+    private TransactionScopedEntityCache cache = new TransactionScopedEntityCache(true);
+    private Node node = mock(Node.class);
+
+    @Before
+    public void setUp() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        for (Object key : new ArrayList<Object>(TransactionSynchronizationManager.getResourceMap().keySet())) {
+            TransactionSynchronizationManager.unbindResource(key);
+        }
+    }
+
+    @Test
+    public void testReturnsSameInstanceWithinTransaction() throws Exception {
+        final String entity = "entity";
+        assertNull(cache.get(node, String.class, null));
+        cache.add(node, entity, null);
+        assertSame(entity, cache.get(node, String.class, MappingPolicy.LOAD_POLICY));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testIgnoresNonLoadingPolicyAndOtherTypes() throws Exception {
+        cache.add(node, "entity", MappingPolicy.DEFAULT_POLICY);
+        assertNull(cache.get(node, String.class, null));
+        cache.add(node, "entity", null);
+        assertNull(cache.get(node, Integer.class, null));
+    }
+
+    @Test
+    public void testEvict() throws Exception {
+        cache.add(node, "entity", null);
+        cache.evict(node);
+        assertNull(cache.get(node, String.class, null));
+    }
+
+    @Test
+    public void testReleasedAfterCompletion() throws Exception {
+        cache.add(node, "entity", null);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        assertNull(cache.get(node, String.class, null));
+    }
+
+    @Test
+    public void testNothingCachedOutsideOfTransaction() throws Exception {
+        TransactionSynchronizationManager.clearSynchronization();
+        cache.add(node, "entity", null);
+        assertNull(cache.get(node, String.class, null));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        cache.setEnabled(false);
+        cache.add(node, "entity", null);
+        assertNull(cache.get(node, String.class, null));
+        assertEquals(0, cache.getMissCount());
+    }
+}
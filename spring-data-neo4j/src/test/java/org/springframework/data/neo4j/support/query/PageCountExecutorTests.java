@@ -0,0 +1,153 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.query;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.data.neo4j.conversion.EndResult;
+import org.springframework.data.neo4j.conversion.Result;
+import org.springframework.data.neo4j.repository.query.QueryTemplates;
+import org.springframework.data.neo4j.template.GraphCallback;
+import org.springframework.data.neo4j.template.Neo4jOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 16.10.26
+ */
+public class PageCountExecutorTests {
+
+    private static final String COUNT_QUERY = "MATCH (n:Person) RETURN count(*)";
+
+    private final Executor sameThread = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+    private final Neo4jOperations template = mock(Neo4jOperations.class);
+    @SuppressWarnings("unchecked")
+    private final Result<Map<String, Object>> result = mock(Result.class);
+    @SuppressWarnings("unchecked")
+    private final EndResult<Long> count = mock(EndResult.class);
+    private final Map<String, Object> params = Collections.<String, Object>singletonMap("name", "Michael");
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(template.exec(any(GraphCallback.class))).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                return ((GraphCallback<Object>) invocation.getArguments()[0]).doWithGraph(null);
+            }
+        });
+        when(template.query(eq(COUNT_QUERY), anyMapOf(String.class, Object.class))).thenReturn(result);
+        when(result.to(Long.class)).thenReturn(count);
+        when(count.singleOrNull()).thenReturn(42L);
+    }
+
+    @Test
+    public void testCountRunsInOwnTransaction() throws Exception {
+        final PageCountExecutor executor = new PageCountExecutor(sameThread);
+        assertEquals(Long.valueOf(42), executor.join(executor.submit(template, COUNT_QUERY, params)));
+        assertEquals(Long.valueOf(42), executor.join(executor.submit(template, COUNT_QUERY, params)));
+        verify(template, times(2)).exec(any(GraphCallback.class));
+        verify(template, times(2)).query(COUNT_QUERY, params);
+    }
+
+    @Test
+    public void testCountsAreCachedPerQueryAndParameters() throws Exception {
+        final PageCountExecutor executor = new PageCountExecutor(sameThread, 1, TimeUnit.MINUTES);
+        assertEquals(Long.valueOf(42), executor.join(executor.submit(template, COUNT_QUERY, params)));
+        assertEquals(Long.valueOf(42), executor.join(executor.submit(template, COUNT_QUERY, params)));
+        verify(template, times(1)).query(COUNT_QUERY, params);
+
+        executor.join(executor.submit(template, COUNT_QUERY, Collections.<String, Object>singletonMap("name", "Emil")));
+        verify(template, times(2)).query(eq(COUNT_QUERY), anyMapOf(String.class, Object.class));
+    }
+
+    @Test
+    public void testCachedCountsIgnorePagingParameters() throws Exception {
+        final PageCountExecutor executor = new PageCountExecutor(sameThread, 1, TimeUnit.MINUTES);
+        assertEquals(Long.valueOf(42), executor.join(executor.submit(template, COUNT_QUERY, pageParams(0, 10))));
+        assertEquals(Long.valueOf(42), executor.join(executor.submit(template, COUNT_QUERY, pageParams(10, 10))));
+        assertEquals(Long.valueOf(42), executor.join(executor.submit(template, COUNT_QUERY, params)));
+        verify(template, times(1)).query(eq(COUNT_QUERY), anyMapOf(String.class, Object.class));
+    }
+
+    private Map<String, Object> pageParams(int skip, int limit) {
+        final Map<String, Object> pageParams = new HashMap<String, Object>(params);
+        pageParams.put(QueryTemplates.SKIP_PARAMETER, skip);
+        pageParams.put(QueryTemplates.LIMIT_PARAMETER, limit);
+        return pageParams;
+    }
+
+    @Test
+    public void testCancelledCountIsNotExecuted() throws Exception {
+        final Runnable[] submitted = new Runnable[1];
+        final PageCountExecutor executor = new PageCountExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                submitted[0] = command;
+            }
+        });
+        final Future<Long> pendingCount = executor.submit(template, COUNT_QUERY, params);
+        executor.cancel(pendingCount);
+        submitted[0].run();
+        assertTrue(pendingCount.isCancelled());
+        verify(template, never()).exec(any(GraphCallback.class));
+    }
+
+    @Test
+    public void testCountsSequentiallyWithinWriteTransactions() throws Exception {
+        assertFalse(PageCountExecutor.isWriteTransactionActive());
+        try {
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            assertFalse(PageCountExecutor.isWriteTransactionActive());
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            assertTrue(PageCountExecutor.isWriteTransactionActive());
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    @Test(expected = DataRetrievalFailureException.class)
+    public void testFailureOfCountIsRethrownOnJoin() throws Exception {
+        when(count.singleOrNull()).thenThrow(new DataRetrievalFailureException("count failed"));
+        final PageCountExecutor executor = new PageCountExecutor(sameThread);
+        executor.join(executor.submit(template, COUNT_QUERY, params));
+    }
+}
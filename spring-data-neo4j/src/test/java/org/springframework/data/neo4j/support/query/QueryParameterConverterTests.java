@@ -22,6 +22,7 @@ import java.util.*;
 import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertThat;
 
@@ -55,6 +56,15 @@ public class QueryParameterConverterTests {
         assertThat(queryParameterConverter.convert(parameters), is(parameters));
     }
 
+    @Test
+    public void shouldNotCopyParametersWithoutValuesToConvert() throws Exception {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("foo", "bar");
+        parameters.put("baz", null);
+
+        assertThat(queryParameterConverter.convert(parameters), sameInstance(parameters));
+    }
+
     enum Suit {
         SPADE, HEART
     }